@@ -0,0 +1,109 @@
+package dev.maximus.glasswork;
+
+import dev.maximus.glasswork.util.Log;
+
+import java.util.Locale;
+
+/**
+ * Runtime tuning knobs. Defaults come from {@code -Dglasswork.<name>=...} system properties;
+ * setters allow commands to change them live.
+ */
+public final class GlassworkConfig {
+    private GlassworkConfig() {}
+
+    /** How persistent quads reach the section VBOs. */
+    public enum InjectionMode {
+        /** Merge into a captured copy of vanilla's translucent mesh and upload from the render thread. */
+        MERGE,
+        /**
+         * Emit into vanilla's translucent layer while the section compiles; quads ride vanilla's upload and resort.
+         * Sections vanilla skips (no blocks around) still use {@link #MERGE}.
+         */
+        COMPILE
+    }
+
+    private static volatile InjectionMode INJECTION_MODE = enumProp("injectionMode", InjectionMode.MERGE);
+
+    /** Camera travel (blocks) since a section's last sort before its injected quads are re-sorted. */
+    private static volatile double RESORT_DISTANCE = doubleProp("resortDistance", 1.0);
+    /** Sections within this radius (in sections) are also re-sorted whenever the camera changes block cell. */
+    private static volatile int RESORT_CELL_RADIUS = intProp("resortCellRadius", 1);
+    /** Native bytes of captured vanilla translucent meshes kept before off-screen ones are evicted. */
+    private static volatile long TRACKED_BUDGET_BYTES = Math.max(0, intProp("trackedBudgetMiB", 128)) * 1024L * 1024L;
+
+    /** Injected-mesh bytes uploaded per frame before further uploads wait a frame (0 = unlimited). */
+    private static volatile long UPLOAD_BUDGET_BYTES = Math.max(0, intProp("uploadBudgetKiB", 4096)) * 1024L;
+    /** Render-thread sort+upload time per frame before further uploads wait a frame (0 = unlimited). */
+    private static volatile long UPLOAD_BUDGET_NANOS = (long) (Math.max(0.0, doubleProp("uploadBudgetMs", 4.0)) * 1_000_000L);
+
+    /** Minimum time between rebuilds of one section's injected mesh; newer generations wait and coalesce (0 = off). */
+    private static volatile long UPDATE_WINDOW_NANOS = (long) (Math.max(0.0, doubleProp("updateWindowMs", 0.0)) * 1_000_000L);
+
+    /** Record allocation sites of Glasswork-owned native buffers and report those collected unreleased. */
+    private static volatile boolean LEAK_DETECTION = boolProp("leakDetection", false);
+
+    /** Background threads encoding/merging injected meshes (read once at startup). */
+    private static final int BUILDER_THREADS = Math.max(1, intProp("builderThreads",
+            Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() / 4))));
+
+    /** Upper bound on native buffer bytes parked in the mesh buffer pool (read once at startup). */
+    private static final long POOL_MAX_BYTES = Math.max(0, intProp("poolMaxMiB", 32)) * 1024L * 1024L;
+
+    public static double resortDistance()  { return RESORT_DISTANCE; }
+    public static int resortCellRadius()   { return RESORT_CELL_RADIUS; }
+    public static int builderThreads()     { return BUILDER_THREADS; }
+    public static long poolMaxBytes()      { return POOL_MAX_BYTES; }
+    public static long trackedBudgetBytes() { return TRACKED_BUDGET_BYTES; }
+    public static InjectionMode injectionMode() { return INJECTION_MODE; }
+    public static long uploadBudgetBytes() { return UPLOAD_BUDGET_BYTES; }
+    public static long uploadBudgetNanos() { return UPLOAD_BUDGET_NANOS; }
+    public static long updateWindowNanos() { return UPDATE_WINDOW_NANOS; }
+    public static boolean leakDetection()  { return LEAK_DETECTION; }
+
+    public static void setResortDistance(double blocks) { RESORT_DISTANCE = Math.max(0.0, blocks); }
+    public static void setResortCellRadius(int sections) { RESORT_CELL_RADIUS = Math.max(-1, sections); }
+    public static void setTrackedBudgetMiB(int mib) { TRACKED_BUDGET_BYTES = Math.max(0, mib) * 1024L * 1024L; }
+    public static void setInjectionMode(InjectionMode mode) { if (mode != null) INJECTION_MODE = mode; }
+    public static void setUploadBudgetKiB(int kib) { UPLOAD_BUDGET_BYTES = Math.max(0, kib) * 1024L; }
+    public static void setUploadBudgetMs(double ms) { UPLOAD_BUDGET_NANOS = (long) (Math.max(0.0, ms) * 1_000_000L); }
+    public static void setUpdateWindowMs(double ms) { UPDATE_WINDOW_NANOS = (long) (Math.max(0.0, ms) * 1_000_000L); }
+    public static void setLeakDetection(boolean on) { LEAK_DETECTION = on; }
+
+    private static boolean boolProp(String name, boolean fallback) {
+        final String raw = System.getProperty(Constant.MOD_ID + "." + name);
+        return (raw == null) ? fallback : Boolean.parseBoolean(raw.trim());
+    }
+
+    private static double doubleProp(String name, double fallback) {
+        final String raw = System.getProperty(Constant.MOD_ID + "." + name);
+        if (raw == null) return fallback;
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            Log.w("[config] bad value for {}.{}='{}' -> {}", Constant.MOD_ID, name, raw, fallback);
+            return fallback;
+        }
+    }
+
+    private static <E extends Enum<E>> E enumProp(String name, E fallback) {
+        final String raw = System.getProperty(Constant.MOD_ID + "." + name);
+        if (raw == null) return fallback;
+        try {
+            return Enum.valueOf(fallback.getDeclaringClass(), raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            Log.w("[config] bad value for {}.{}='{}' -> {}", Constant.MOD_ID, name, raw, fallback);
+            return fallback;
+        }
+    }
+
+    private static int intProp(String name, int fallback) {
+        final String raw = System.getProperty(Constant.MOD_ID + "." + name);
+        if (raw == null) return fallback;
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            Log.w("[config] bad value for {}.{}='{}' -> {}", Constant.MOD_ID, name, raw, fallback);
+            return fallback;
+        }
+    }
+}
@@ -13,15 +13,40 @@ public final class GlassworkMetrics {
     // Frame / upload counters
     private static final LongAdder frameQuadsSubmitted = new LongAdder();
     private static final LongAdder frameDrainCalls     = new LongAdder();
+    private static final LongAdder frameQuadsDrained   = new LongAdder();
     private static final LongAdder uploadsTriggered    = new LongAdder();
+    private static final LongAdder resorts             = new LongAdder();
+    private static final LongAdder attributePatches    = new LongAdder();
+    private static final LongAdder attributePatchBytes = new LongAdder();
+    private static final LongAdder dedupSkips          = new LongAdder();
+    private static final LongAdder uploadsDeferred     = new LongAdder();
+    private static final LongAdder versionsCoalesced   = new LongAdder();
 
     public static void recordClientFrameSubmit()   { frameQuadsSubmitted.increment(); }
-    public static void recordClientFrameDrain(int drained) { frameDrainCalls.increment(); }
+    public static void recordClientFrameDrain(int drained) { frameDrainCalls.increment(); frameQuadsDrained.add(drained); }
     public static void recordClientUploadTrigger() { uploadsTriggered.increment(); }
+    public static void recordClientResort()        { resorts.increment(); }
+    /** A section update whose content matched what was already published (no bump, no upload). */
+    public static void recordClientDedupSkip()     { dedupSkips.increment(); }
+    /** A ready section upload pushed to a later frame by the per-frame upload budget. */
+    public static void recordClientUploadDeferred() { uploadsDeferred.increment(); }
+    /** API publishes of a section's quads that were replaced before they were uploaded (a later upload covered them). */
+    public static void recordClientVersionsCoalesced(int versions) { versionsCoalesced.add(versions); }
+    public static void recordClientAttributePatch(long bytes) {
+        attributePatches.increment();
+        attributePatchBytes.add(bytes);
+    }
 
     public static long clientFrameSubmits()     { return frameQuadsSubmitted.sum(); }
     public static long clientFrameDrains()      { return frameDrainCalls.sum(); }
+    public static long clientFrameQuadsDrained() { return frameQuadsDrained.sum(); }
     public static long clientUploadsTriggered() { return uploadsTriggered.sum(); }
+    public static long clientResorts()          { return resorts.sum(); }
+    public static long clientAttributePatches() { return attributePatches.sum(); }
+    public static long clientAttributePatchBytes() { return attributePatchBytes.sum(); }
+    public static long clientDedupSkips()       { return dedupSkips.sum(); }
+    public static long clientUploadsDeferred()  { return uploadsDeferred.sum(); }
+    public static long clientVersionsCoalesced() { return versionsCoalesced.sum(); }
 
     // Mesh counters
     private static final LongAdder meshStores   = new LongAdder();
@@ -31,6 +56,9 @@ public final class GlassworkMetrics {
     private static final LongAdder meshBytesIn  = new LongAdder();
     private static final LongAdder meshBytesOut = new LongAdder();
     private static final LongAdder meshErrors   = new LongAdder();
+    private static final LongAdder meshEvicts   = new LongAdder();
+    private static final LongAdder meshEvictedBytes = new LongAdder();
+    private static final LongAdder meshRemovedBytes = new LongAdder();
 
     public static void recordClientMeshStore(long srcBytes, long outBytes) {
         meshStores.increment(); meshBytesIn.add(srcBytes); meshBytesOut.add(outBytes);
@@ -39,7 +67,7 @@ public final class GlassworkMetrics {
         meshReplaces.increment(); meshBytesIn.add(srcBytes); meshBytesOut.add(outBytes);
     }
     public static void recordClientMeshRemove(long freedBytes, long count) {
-        meshRemoves.add(count);
+        meshRemoves.add(count); meshRemovedBytes.add(freedBytes);
     }
     public static void recordClientMeshMerge(long aBytes, long bBytes, long outBytes) {
         meshMerges.increment(); meshBytesIn.add(aBytes + bBytes); meshBytesOut.add(outBytes);
@@ -47,6 +75,9 @@ public final class GlassworkMetrics {
     public static void recordClientMeshMergeError(String reason) {
         meshErrors.increment();
     }
+    public static void recordClientMeshEvict(long freedBytes, long count) {
+        meshEvicts.add(count); meshEvictedBytes.add(freedBytes);
+    }
 
     public static long clientMeshStores()   { return meshStores.sum(); }
     public static long clientMeshReplaces() { return meshReplaces.sum(); }
@@ -55,6 +86,22 @@ public final class GlassworkMetrics {
     public static long clientMeshBytesIn()  { return meshBytesIn.sum(); }
     public static long clientMeshBytesOut() { return meshBytesOut.sum(); }
     public static long clientMeshErrors()   { return meshErrors.sum(); }
+    public static long clientMeshEvicts()   { return meshEvicts.sum(); }
+    public static long clientMeshEvictedBytes() { return meshEvictedBytes.sum(); }
+    public static long clientMeshRemovedBytes() { return meshRemovedBytes.sum(); }
+
+    // Native buffer pool counters
+    private static final LongAdder poolHits         = new LongAdder();
+    private static final LongAdder poolMisses       = new LongAdder();
+    private static final LongAdder poolTrimmedBytes = new LongAdder();
+
+    public static void recordClientPoolHit()             { poolHits.increment(); }
+    public static void recordClientPoolMiss()            { poolMisses.increment(); }
+    public static void recordClientPoolTrim(long bytes)  { poolTrimmedBytes.add(bytes); }
+
+    public static long clientPoolHits()         { return poolHits.sum(); }
+    public static long clientPoolMisses()       { return poolMisses.sum(); }
+    public static long clientPoolTrimmedBytes() { return poolTrimmedBytes.sum(); }
 
     // Helpers
     public static long estimateBytesForQuads(List<InjectedQuad> quads) {
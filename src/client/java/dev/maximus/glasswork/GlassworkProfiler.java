@@ -0,0 +1,170 @@
+package dev.maximus.glasswork;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histograms for the phases of the injection pipeline, off until {@link #start(int) started}.
+ * <p>Instrumented code brackets a phase with {@link #begin()} and {@link #end}; while stopped, {@code begin()} is one
+ * volatile read and {@code end} returns at once. Samples land in log-linear buckets (8 per power of two, so a
+ * reported percentile is within 12.5% of the true value) that build workers and the render thread update without
+ * locking. Every {@code windowFrames} rendered frames the current window is rotated out, so {@link #dump()} shows
+ * p50/p99/max of the last full window next to the totals since start.</p>
+ */
+public final class GlassworkProfiler {
+    private GlassworkProfiler() {}
+
+    public enum Phase {
+        /** Encoding packed quads into an injected mesh (build workers). */
+        BUILD,
+        /** Merging the injected mesh with the captured vanilla mesh (build workers). */
+        MERGE,
+        /** Sorting the merged mesh for the camera (render thread). */
+        SORT,
+        /** Uploading the sorted mesh into the section VBO (render thread). */
+        UPLOAD,
+        /** Capturing vanilla's translucent mesh after a section compile (compile workers). */
+        CAPTURE,
+        /** Deep copies of meshes into Glasswork-owned buffers. */
+        COPY
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Histogram[] WINDOW = new Histogram[PHASES.length];
+    private static final Histogram[] LAST = new Histogram[PHASES.length];
+    private static final Histogram[] TOTAL = new Histogram[PHASES.length];
+    static {
+        for (int i = 0; i < PHASES.length; i++) {
+            WINDOW[i] = new Histogram();
+            LAST[i] = new Histogram();
+            TOTAL[i] = new Histogram();
+        }
+    }
+
+    private static volatile boolean enabled;
+    private static int windowFrames = 60;
+    /** Render thread. */
+    private static int framesInWindow;
+    private static long windows;
+
+    public static boolean enabled() { return enabled; }
+
+    /** Clear all histograms and start sampling, rotating the window every {@code frames} frames. */
+    public static void start(int frames) {
+        windowFrames = Math.max(1, frames);
+        for (int i = 0; i < PHASES.length; i++) {
+            WINDOW[i].reset();
+            LAST[i].reset();
+            TOTAL[i].reset();
+        }
+        framesInWindow = 0;
+        windows = 0;
+        enabled = true;
+    }
+
+    /** Stop sampling; histograms are kept for {@link #dump()}. */
+    public static void stop() {
+        enabled = false;
+    }
+
+    /** Timestamp for {@link #end}, or 0 while stopped. */
+    public static long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Record the time since {@code begin} (a {@link #begin()} result) for {@code phase}. */
+    public static void end(Phase phase, long begin) {
+        if (begin == 0L) return;
+        final long nanos = System.nanoTime() - begin;
+        WINDOW[phase.ordinal()].record(nanos);
+        TOTAL[phase.ordinal()].record(nanos);
+    }
+
+    /** Frame boundary (render thread, after the translucent layer): rotate the window when it is full. */
+    public static void endFrame() {
+        if (!enabled || ++framesInWindow < windowFrames) return;
+        framesInWindow = 0;
+        windows++;
+        for (int i = 0; i < PHASES.length; i++) WINDOW[i].drainInto(LAST[i]);
+    }
+
+    /** One line per phase: last full window, then totals since start. */
+    public static List<String> dump() {
+        final ArrayList<String> out = new ArrayList<>(PHASES.length + 1);
+        out.add((enabled ? "running" : "stopped") + ", window=" + windowFrames + " frame(s), windows=" + windows
+                + " (times in us: n p50 p99 max)");
+        for (int i = 0; i < PHASES.length; i++) {
+            out.add(String.format(Locale.ROOT, "%-7s last[%s]  total[%s]",
+                    PHASES[i].name().toLowerCase(Locale.ROOT), LAST[i].summary(), TOTAL[i].summary()));
+        }
+        return out;
+    }
+
+    /** Log-linear histogram of nanosecond samples; concurrent writers, approximate under concurrent reads. */
+    static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+        /** Up to 2^40 ns (~18 min); longer samples land in the last bucket. */
+        private static final int MAX_EXP = 40;
+        private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            final long v = Math.max(0L, nanos);
+            counts.incrementAndGet(bucket(v));
+            long m;
+            while (v > (m = max.get()) && !max.compareAndSet(m, v)) { /* retry */ }
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) counts.set(i, 0L);
+            max.set(0L);
+        }
+
+        /** Move this histogram's samples into {@code to} (replacing its contents) and reset this one. */
+        void drainInto(Histogram to) {
+            for (int i = 0; i < BUCKETS; i++) to.counts.set(i, counts.getAndSet(i, 0L));
+            to.max.set(max.getAndSet(0L));
+        }
+
+        String summary() {
+            long n = 0;
+            final long[] c = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) n += (c[i] = counts.get(i));
+            if (n == 0) return "0 - - -";
+            final long m = max.get();
+            return String.format(Locale.ROOT, "%d %.1f %.1f %.1f", n,
+                    Math.min(m, percentile(c, n, 0.50)) / 1000.0, Math.min(m, percentile(c, n, 0.99)) / 1000.0, m / 1000.0);
+        }
+
+        private static long percentile(long[] c, long n, double p) {
+            final long rank = (long) Math.ceil(p * n);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += c[i];
+                if (seen >= rank) return midpoint(i);
+            }
+            return midpoint(BUCKETS - 1);
+        }
+
+        static int bucket(long v) {
+            if (v < SUB) return (int) v;
+            final int exp = Math.min(MAX_EXP, 63 - Long.numberOfLeadingZeros(v));
+            final int sub = (int) ((v >>> (exp - SUB_BITS)) & (SUB - 1));
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        /** Middle of bucket {@code i}'s value range. */
+        static long midpoint(int i) {
+            if (i < SUB) return i;
+            final int exp = i / SUB + SUB_BITS - 1;
+            final long lo = (long) (SUB + i % SUB) << (exp - SUB_BITS);
+            return lo + ((1L << (exp - SUB_BITS)) >>> 1);
+        }
+    }
+}
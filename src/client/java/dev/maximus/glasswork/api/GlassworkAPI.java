@@ -1,27 +1,40 @@
 package dev.maximus.glasswork.api;
 
+import dev.maximus.glasswork.GlassworkConfig;
 import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.client.internal.jfr.BatchCommitEvent;
+import dev.maximus.glasswork.client.internal.mesh.PackedQuads;
+import dev.maximus.glasswork.client.internal.mesh.QuadSlots;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
+import dev.maximus.glasswork.client.internal.mesh.SectionSplitter;
+import dev.maximus.glasswork.client.internal.mesh.SpriteRef;
+import dev.maximus.glasswork.client.internal.mesh.TiledQuads;
+import dev.maximus.glasswork.client.internal.render.SpriteCache;
+import dev.maximus.glasswork.util.ConcurrentLong2ObjectMap;
 import dev.maximus.glasswork.util.Log;
-import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.block.BlockModelShaper;
-import net.minecraft.client.resources.model.BakedModel;
-import net.minecraft.client.renderer.block.model.BakedQuad;
+import it.unimi.dsi.fastutil.longs.Long2ObjectArrayMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.material.Fluid;
-import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 
+import org.jetbrains.annotations.Nullable;
 import org.joml.Vector3f;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Function;
 
 /** Pure client-side quad store & frame queue. Thread-safe; snapshots are immutable. */
@@ -36,25 +49,139 @@ public final class GlassworkAPI {
         /** Map the whole sprite across the entire quad. */
         STRETCH,
         /** Tile the sprite once per world unit along the quad's two in-plane axes. */
-        TILE
+        TILE,
+        /**
+         * Like {@link #TILE}, but the quad stays one quad: the sprite repeats once per world unit from the first
+         * corner, wrapped inside the sprite by Glasswork's tiling shader. Vertex count and sort work scale with the
+         * number of surfaces instead of their area. Drawn in a separate pass right after the translucent layer.
+         */
+        TILE_SHADER
     }
 
     /* ===========================
        Data
        =========================== */
 
-    private static final Map<SectionPos, List<InjectedQuad>> QUADS = new ConcurrentHashMap<>();
-    private static final Map<SectionPos, Integer> VER  = new ConcurrentHashMap<>();
-    private static final Map<SectionPos, Integer> LAST = new ConcurrentHashMap<>();
-    private static final Queue<InjectedQuad> FRAME    = new ConcurrentLinkedQueue<>();
+    /** {@link #_takePatchedRange} result when nothing was patched. */
+    public static final long NO_RANGE = -1L;
+
+    /**
+     * Keyed by {@link SectionPos#asLong()}; a state is dropped once it holds nothing (see {@link SectionState#isEmpty}).
+     * Generations come from one global counter, so a state recreated for the same section never repeats one.
+     */
+    private static final ConcurrentLong2ObjectMap<SectionState> STATES = new ConcurrentLong2ObjectMap<>();
+    private static final Queue<InjectedQuad> FRAME = new ConcurrentLinkedQueue<>();
+    /** Serializes writers so a {@link Batch} commit never interleaves with single-call mutations. */
+    private static final Object PUBLISH = new Object();
+    /** Owner section → other sections holding pieces of its split quads (guarded by {@link #PUBLISH}). */
+    private static final Long2ObjectOpenHashMap<LongOpenHashSet> SPILLS = new Long2ObjectOpenHashMap<>();
+    /** Group → sections holding its quads (guarded by {@link #PUBLISH}). */
+    private static final HashMap<ResourceLocation, LongOpenHashSet> GROUPS = new HashMap<>();
+    /** Groups left out of the combined snapshots (guarded by {@link #PUBLISH}). */
+    private static final HashSet<ResourceLocation> HIDDEN = new HashSet<>();
 
     private GlassworkAPI() {}
 
+    private static SectionState state(long section) {
+        return STATES.computeIfAbsent(section, k -> new SectionState());
+    }
+
+    /**
+     * Published quads of one section (packed, section-local; see {@link PackedQuads}), its shader-tiled quads, plus
+     * its generation state packed into one primitive: high 32 bits = current version, low 32 bits = last uploaded
+     * version ({@link #NONE} if none). The generation only tracks {@link #quads}.
+     * <p>{@link #quads}/{@link #tiled} are the combined snapshot readers see. Writers (under {@link #PUBLISH}) keep
+     * them as the concatenation of the section's own {@link Part}, its handle quads ({@link #slots}), the quads of
+     * every visible group ({@link #groups}), then pieces clipped from quads that were published under neighbouring
+     * sections.</p>
+     */
+    private static final class SectionState {
+        static final int NONE = -1;
+        /** Source of every section's generations. */
+        private static final AtomicInteger GENERATIONS = new AtomicInteger();
+        private static final AtomicLongFieldUpdater<SectionState> STATE =
+                AtomicLongFieldUpdater.newUpdater(SectionState.class, "state");
+        private static final AtomicLongFieldUpdater<SectionState> PATCHED =
+                AtomicLongFieldUpdater.newUpdater(SectionState.class, "patched");
+
+        volatile PackedQuads quads = PackedQuads.EMPTY;
+        volatile TiledQuads tiled = TiledQuads.EMPTY;
+        volatile long state = pack(nextGeneration(), NONE);
+        /** Quad range {@code [from, to)} of {@link #quads} whose attributes changed without a bump ({@link #NO_RANGE} if none). */
+        volatile long patched = NO_RANGE;
+        /** Coalescing window set through {@link GlassworkAPI#setUpdateWindow}, or -1 for the configured default. */
+        volatile long windowNanos = -1L;
+        /** Snapshot the renderer last uploaded (attribute patches carry it forward); null before the first upload. */
+        volatile @Nullable PackedQuads uploadedQuads;
+        /** Guarded by {@link #PUBLISH}. */
+        Part own = Part.EMPTY;
+        /** Guarded by {@link #PUBLISH}; by owner key, null while no neighbour spills into this section. */
+        @Nullable Long2ObjectArrayMap<Part> foreign;
+        /** Guarded by {@link #PUBLISH}; quads added through {@link GlassworkAPI#add}, created on first use. */
+        @Nullable QuadSlots slots;
+        /** Guarded by {@link #PUBLISH}; quads by group in insertion order, null while no group reaches this section. */
+        @Nullable Object2ObjectArrayMap<ResourceLocation, PackedQuads> groups;
+
+        static long pack(int version, int uploaded) { return ((long) version << 32) | (uploaded & 0xffffffffL); }
+        static int version(long state)  { return (int) (state >>> 32); }
+        static int uploaded(long state) { return (int) state; }
+        static int nextGeneration()     { return GENERATIONS.incrementAndGet() & 0x7fffffff; }
+
+        void bump() {
+            long s;
+            do {
+                s = state;
+            } while (!STATE.compareAndSet(this, s, pack(nextGeneration(), uploaded(s))));
+            GlassworkMetrics.recordClientUploadTrigger();
+        }
+
+        void widenPatched(int from, int to) {
+            long s, next;
+            do {
+                s = patched;
+                next = (s == NO_RANGE) ? pack(from, to) : pack(Math.min(from, version(s)), Math.max(to, uploaded(s)));
+            } while (!PATCHED.compareAndSet(this, s, next));
+        }
+
+        /** Nothing published, owned or configured here (caller holds {@link #PUBLISH}). */
+        boolean isEmpty() {
+            return quads.isEmpty() && tiled.isEmpty() && own.isEmpty() && foreign == null && groups == null
+                    && (slots == null || slots.isEmpty()) && windowNanos < 0;
+        }
+
+        long takePatched() {
+            return PATCHED.getAndSet(this, NO_RANGE);
+        }
+
+        void markUploaded(int version) {
+            long s;
+            do {
+                s = state;
+            } while (!STATE.compareAndSet(this, s, pack(version(s), version)));
+        }
+    }
+
+    /** One owner's share of a section. */
+    private record Part(PackedQuads quads, TiledQuads tiled) {
+        static final Part EMPTY = new Part(PackedQuads.EMPTY, TiledQuads.EMPTY);
+
+        boolean isEmpty() {
+            return quads.isEmpty() && tiled.isEmpty();
+        }
+    }
+
     /* ===========================
-       Existing API (unchanged)
+       Section quads
        =========================== */
 
-    /** Replace all persistent quads for a section (null/empty → clear). */
+    /**
+     * Replace all persistent quads for a section (null/empty → clear).
+     * <p>Quads that cross section borders are clipped there and each piece is stored in the section that contains
+     * it, so it is culled and sorted with that section; UVs and colors are interpolated across the cut.
+     * {@code section} stays the owner of every piece: a later put or {@link #removeAll} replaces them all.</p>
+     * <p>Re-putting quads identical to the published ones (compared by a cached content hash, then the data) is a
+     * no-op: no generation bump, no rebuild, no upload.</p>
+     */
     public static void put(SectionPos section, Collection<InjectedQuad> quads) {
         if (section == null) {
             Log.w("[api.put] section=null -> no-op");
@@ -64,27 +191,239 @@ public final class GlassworkAPI {
             removeAll(section);
             return;
         }
-        int in = quads.size();
-        ArrayList<InjectedQuad> clean = new ArrayList<>(in);
-        for (InjectedQuad q : quads) if (q != null) clean.add(q);
-        if (clean.isEmpty()) {
+        int invalid = 0;
+        for (InjectedQuad q : quads) if (!isComplete(q)) invalid++;
+        if (invalid == quads.size()) {
             removeAll(section);
             return;
         }
-        if (clean.size() != in) {
-            Log.w("[api.put] discarded {} null quad(s) (kept={}) for section={}", (in - clean.size()), clean.size(), section);
+        if (invalid > 0) {
+            Log.w("[api.put] discarded {} null quad(s) (kept={}) for section={}", invalid, quads.size() - invalid, section);
+        }
+        final Long2ObjectMap<PackedQuads> pieces = packSplit(quads, null);
+        synchronized (PUBLISH) {
+            replaceOwner(section.asLong(), pieces, Long2ObjectMaps.emptyMap());
         }
-        QUADS.put(section, List.copyOf(clean));
-        _bumpGeneration(section);
     }
 
-    /** Clear persistent quads for a section. */
+    /** Clear persistent quads owned by a section, including pieces of them that were split into neighbours. */
     public static void removeAll(SectionPos section) {
         if (section == null) return;
-        QUADS.remove(section);
-        VER.remove(section);
-        LAST.remove(section);
-        Log.d("[api.removeAll] cleared section={}", section);
+        final int touched;
+        synchronized (PUBLISH) {
+            touched = replaceOwner(section.asLong(), Long2ObjectMaps.emptyMap(), Long2ObjectMaps.emptyMap());
+        }
+        if (touched > 0) Log.d("[api.removeAll] cleared section={} (sections touched={})", section, touched);
+    }
+
+    /**
+     * Add one quad to a section and get a handle to {@link #update} or {@link #remove} it on its own, without
+     * re-submitting the rest of the section. Handle quads are stored whole in {@code section} (not split at borders);
+     * {@link #put} and {@link #removeAll} on the section clear them and stale their handles.
+     *
+     * @return the handle, or null for a null section or an incomplete quad
+     */
+    public static @Nullable QuadHandle add(SectionPos section, InjectedQuad quad) {
+        if (section == null || !isComplete(quad)) return null;
+        final long key = section.asLong();
+        final PackedQuads packed = PackedQuads.pack(key, List.of(quad));
+        final long id;
+        synchronized (PUBLISH) {
+            final SectionState st = state(key);
+            if (st.slots == null) st.slots = new QuadSlots();
+            id = st.slots.add(packed);
+            publish(key, st, combinedQuads(st), st.tiled);
+        }
+        return new QuadHandle(key, (int) (id >>> 32), (int) id);
+    }
+
+    /** Replace the quad behind {@code handle} in place; false (and no change) if the handle is stale. */
+    public static boolean update(QuadHandle handle, InjectedQuad quad) {
+        if (handle == null || !isComplete(quad)) return false;
+        final PackedQuads packed = PackedQuads.pack(handle.section(), List.of(quad));
+        synchronized (PUBLISH) {
+            final SectionState st = STATES.get(handle.section());
+            if (st == null || st.slots == null || !st.slots.set(handle.slot(), handle.serial(), packed)) return false;
+            publish(handle.section(), st, combinedQuads(st), st.tiled);
+        }
+        return true;
+    }
+
+    /** Remove the quad behind {@code handle}; false if the handle is stale. */
+    public static boolean remove(QuadHandle handle) {
+        if (handle == null) return false;
+        synchronized (PUBLISH) {
+            final SectionState st = STATES.get(handle.section());
+            if (st == null || st.slots == null || !st.slots.remove(handle.slot(), handle.serial())) return false;
+            publish(handle.section(), st, combinedQuads(st), st.tiled);
+        }
+        return true;
+    }
+
+    /* ---------- attribute patches ---------- */
+
+    /**
+     * Set the ARGB color of quads {@code [fromQuad, fromQuad + count)} of the section's own quads (put/append order;
+     * a quad split at a border counts once per piece kept in this section). Only colors change: the section's GPU
+     * buffer is patched in place on the next frame, with no rebuild and no re-sort.
+     *
+     * @return the number of quads patched
+     */
+    public static int recolor(SectionPos section, int fromQuad, int count, int argb) {
+        return patchOwn(section, fromQuad, count, PackedQuads.PATCH_RGB | PackedQuads.PATCH_ALPHA, argb, 0);
+    }
+
+    /** Like {@link #recolor(SectionPos, int, int, int)} but only sets alpha to {@code opacity} (0..1), keeping RGB. */
+    public static int setOpacity(SectionPos section, int fromQuad, int count, float opacity) {
+        return patchOwn(section, fromQuad, count, PackedQuads.PATCH_ALPHA, tint(0xFFFFFFFF, opacity), 0);
+    }
+
+    /** Like {@link #recolor(SectionPos, int, int, int)} for the packed light. */
+    public static int relight(SectionPos section, int fromQuad, int count, int light) {
+        return patchOwn(section, fromQuad, count, PackedQuads.PATCH_LIGHT, 0, light);
+    }
+
+    /** Set the ARGB color of the quad behind {@code handle} (patched in place); false if the handle is stale. */
+    public static boolean recolor(QuadHandle handle, int argb) {
+        return patchHandle(handle, PackedQuads.PATCH_RGB | PackedQuads.PATCH_ALPHA, argb, 0);
+    }
+
+    public static boolean setOpacity(QuadHandle handle, float opacity) {
+        return patchHandle(handle, PackedQuads.PATCH_ALPHA, tint(0xFFFFFFFF, opacity), 0);
+    }
+
+    public static boolean relight(QuadHandle handle, int light) {
+        return patchHandle(handle, PackedQuads.PATCH_LIGHT, 0, light);
+    }
+
+    /* ---------- groups ---------- */
+
+    /**
+     * Replace every quad tagged with {@code group}, wherever it is (null/empty → clear). Group quads are split at
+     * section borders like {@link #put} and live next to, not instead of, what sections own: {@link #put} and
+     * {@link #removeAll} leave them alone, and the group calls below touch only the sections the group reaches.
+     */
+    public static void putGroup(ResourceLocation group, Collection<InjectedQuad> quads) {
+        if (group == null) return;
+        final Long2ObjectMap<PackedQuads> pieces = (quads == null || quads.isEmpty())
+                ? Long2ObjectMaps.emptyMap() : packSplit(quads, null);
+        final int changed;
+        synchronized (PUBLISH) {
+            changed = replaceGroup(group, pieces);
+        }
+        Log.d("[api.group.put] group={} sections={} changed={}", group, pieces.size(), changed);
+    }
+
+    /** Add quads to {@code group}, keeping what it already has. */
+    public static void appendGroup(ResourceLocation group, Collection<InjectedQuad> quads) {
+        if (group == null || quads == null || quads.isEmpty()) return;
+        final Long2ObjectMap<PackedQuads> pieces = packSplit(quads, null);
+        int changed = 0;
+        synchronized (PUBLISH) {
+            for (Long2ObjectMap.Entry<PackedQuads> e : pieces.long2ObjectEntrySet()) {
+                final long target = e.getLongKey();
+                if (setGroupPart(group, target, PackedQuads.concat(groupPart(group, target), e.getValue()))) changed++;
+            }
+        }
+        if (Log.isTraceEnabled()) Log.t("[api.group.append] group={} sections changed={}", group, changed);
+    }
+
+    /**
+     * Drop every quad of {@code group} (and its hidden flag) in one pass under the publish lock.
+     *
+     * @return the number of sections republished
+     */
+    public static int clearGroup(ResourceLocation group) {
+        if (group == null) return 0;
+        final int changed;
+        synchronized (PUBLISH) {
+            changed = replaceGroup(group, Long2ObjectMaps.emptyMap());
+            HIDDEN.remove(group);
+        }
+        if (changed > 0) Log.d("[api.group.clear] group={} sections changed={}", group, changed);
+        return changed;
+    }
+
+    /**
+     * Hide or show {@code group} without dropping its quads; hidden groups keep taking puts, appends and recolors.
+     *
+     * @return the number of sections republished (0 if the group already was in that state)
+     */
+    public static int hideGroup(ResourceLocation group, boolean hidden) {
+        if (group == null) return 0;
+        int changed = 0;
+        synchronized (PUBLISH) {
+            if (!(hidden ? HIDDEN.add(group) : HIDDEN.remove(group))) return 0;
+            final LongOpenHashSet sections = GROUPS.get(group);
+            if (sections != null) {
+                for (LongIterator it = sections.iterator(); it.hasNext(); ) {
+                    final long target = it.nextLong();
+                    final SectionState st = STATES.get(target);
+                    if (st == null) continue;
+                    publish(target, st, combinedQuads(st), st.tiled);
+                    changed++;
+                }
+            }
+        }
+        Log.d("[api.group.hide] group={} hidden={} sections changed={}", group, hidden, changed);
+        return changed;
+    }
+
+    public static boolean isGroupHidden(ResourceLocation group) {
+        synchronized (PUBLISH) {
+            return HIDDEN.contains(group);
+        }
+    }
+
+    /**
+     * Set the ARGB color of every quad in {@code group}. Patched in place like {@link #recolor(SectionPos, int, int, int)}
+     * (no rebuild, no re-sort); a hidden group is recolored for when it is shown again.
+     *
+     * @return the number of quads patched
+     */
+    public static int recolorGroup(ResourceLocation group, int argb) {
+        if (group == null) return 0;
+        int patched = 0;
+        synchronized (PUBLISH) {
+            final LongOpenHashSet sections = GROUPS.get(group);
+            if (sections == null) return 0;
+            final boolean visible = !HIDDEN.contains(group);
+            for (LongIterator it = sections.iterator(); it.hasNext(); ) {
+                final long target = it.nextLong();
+                final SectionState st = STATES.get(target);
+                if (st == null || st.groups == null) continue;
+                final PackedQuads old = st.groups.get(group);
+                if (old == null) continue;
+                final int n = old.size();
+                st.groups.put(group, old.withAttributes(0, n, PackedQuads.PATCH_RGB | PackedQuads.PATCH_ALPHA, argb, 0));
+                if (visible) {
+                    final int at = groupOffset(st, group);
+                    publishPatched(target, st, at, at + n);
+                }
+                patched += n;
+            }
+        }
+        if (Log.isTraceEnabled()) Log.t("[api.group.recolor] group={} quads={}", group, patched);
+        return patched;
+    }
+
+    /**
+     * Coalesce rebuilds of a section that is rewritten faster than it needs to be shown: after an upload, later
+     * generations wait until {@code millis} have passed and only the newest is built and uploaded; the ones in between
+     * are dropped. Updates are always coalesced to at most one build per frame. Attribute patches
+     * ({@link #recolor(SectionPos, int, int, int)} etc.) are applied at once while no geometry change is waiting;
+     * behind one, they show with its upload once the window has passed.
+     *
+     * @param millis window in ms, 0 to disable for this section, negative to use {@code -Dglasswork.updateWindowMs}
+     */
+    public static void setUpdateWindow(SectionPos section, int millis) {
+        if (section == null) return;
+        final long key = section.asLong();
+        synchronized (PUBLISH) {
+            final SectionState st = state(key);
+            st.windowNanos = (millis < 0) ? -1L : millis * 1_000_000L;
+            dropIfEmpty(key, st);
+        }
     }
 
     /** Convert a block position to its section. */
@@ -92,9 +431,9 @@ public final class GlassworkAPI {
         return (pos == null) ? SectionPos.of(0, 0, 0) : SectionPos.of(pos);
     }
 
-    /** Submit a one-frame quad to render next frame. */
+    /** Submit a one-frame quad to render next frame. Quads missing a corner are ignored. */
     public static void submitFrameQuad(InjectedQuad quad) {
-        if (quad == null) return;
+        if (!isComplete(quad)) return;
         FRAME.add(quad);
         GlassworkMetrics.recordClientFrameSubmit();
     }
@@ -122,10 +461,7 @@ public final class GlassworkAPI {
                                        Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
                                        int tintARGB, int light, float opacity, UVMode uvMode) {
         if (section == null || textureId == null) return;
-        TextureAtlasSprite sprite = resolveSprite(textureId);
-        if (sprite == null) { Log.w("[api.putBlockTexture(id)] sprite not found: {}", textureId); return; }
-        var quads = buildTexturedQuads(sprite, v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
-        _appendQuads(section, quads);
+        appendTextured(section, blockSprite(textureId), v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
     }
 
     /**
@@ -137,14 +473,7 @@ public final class GlassworkAPI {
                                        Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
                                        int tintARGB, int light, float opacity, UVMode uvMode) {
         if (section == null || block == null) return;
-        TextureAtlasSprite sprite = resolveBlockFaceSprite(block, parseFace(face));
-        if (sprite == null) {
-            Log.w("[api.putBlockTexture(block)] face sprite missing for {} face={} -> particle", block, face);
-            sprite = resolveParticleSprite(block);
-            if (sprite == null) return;
-        }
-        var quads = buildTexturedQuads(sprite, v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
-        _appendQuads(section, quads);
+        appendTextured(section, blockSprite(block, face), v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
     }
 
     /**
@@ -158,10 +487,166 @@ public final class GlassworkAPI {
                                         Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
                                         int tintARGB, int light, float opacity, UVMode uvMode) {
         if (section == null || fluid == null) return;
-        TextureAtlasSprite sprite = resolveFluidSprite(fluid, animated);
-        if (sprite == null) return;
-        var quads = buildTexturedQuads(sprite, v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
-        _appendQuads(section, quads);
+        appendTextured(section, SpriteCache.fluid(fluid, animated), v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
+    }
+
+    /**
+     * Start a batch: collect puts, appends and removals across many sections and publish them together.
+     * Each touched section is published once with a single generation bump when {@link Batch#commit()} runs.
+     */
+    public static Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * A reusable writer that streams vertices straight into packed section storage, for producers that generate
+     * many quads and want no per-quad garbage. See {@link QuadSink}.
+     */
+    public static QuadSink quadSink() {
+        return new QuadSink();
+    }
+
+    /* ===========================
+       Batch
+       =========================== */
+
+    /**
+     * Collects mutations across many sections and publishes them in one go.
+     * <p>Operations apply in call order per section. Nothing is visible until {@link #commit()}, which publishes
+     * every touched section once (one pack, one generation bump) while holding the API's publish lock, so
+     * no other put/remove can interleave with the batch. Not thread-safe; use one batch per producer thread.</p>
+     */
+    public static final class Batch {
+        private final Map<SectionPos, Pending> pending = new LinkedHashMap<>();
+        private boolean committed;
+
+        private Batch() {}
+
+        /** Replace all persistent quads for a section (null/empty → clear). */
+        public Batch put(SectionPos section, Collection<InjectedQuad> quads) {
+            if (section == null) return this;
+            final Pending p = pending(section);
+            p.replace = true;
+            p.add.clear();
+            p.tiled.clear();
+            if (quads != null) p.add(null, quads);
+            return this;
+        }
+
+        /** Append quads to a section, keeping what is already there. */
+        public Batch append(SectionPos section, Collection<InjectedQuad> quads) {
+            if (section == null || quads == null || quads.isEmpty()) return this;
+            pending(section).add(null, quads);
+            return this;
+        }
+
+        /** Clear persistent quads for a section. */
+        public Batch removeAll(SectionPos section) {
+            return put(section, null);
+        }
+
+        /** Batched {@link GlassworkAPI#putBlockTexture(SectionPos, ResourceLocation, Vector3f, Vector3f, Vector3f, Vector3f, int, int, float, UVMode)}. */
+        public Batch putBlockTexture(SectionPos section, ResourceLocation textureId,
+                                     Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
+                                     int tintARGB, int light, float opacity, UVMode uvMode) {
+            if (section == null || textureId == null) return this;
+            return appendTextured(section, blockSprite(textureId), v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
+        }
+
+        /** Batched {@link GlassworkAPI#putBlockTexture(SectionPos, Block, String, Vector3f, Vector3f, Vector3f, Vector3f, int, int, float, UVMode)}. */
+        public Batch putBlockTexture(SectionPos section, Block block, String face,
+                                     Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
+                                     int tintARGB, int light, float opacity, UVMode uvMode) {
+            if (section == null || block == null) return this;
+            return appendTextured(section, blockSprite(block, face), v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
+        }
+
+        /** Batched {@link GlassworkAPI#putLiquidTexture}. */
+        public Batch putLiquidTexture(SectionPos section, Fluid fluid, boolean animated,
+                                      Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
+                                      int tintARGB, int light, float opacity, UVMode uvMode) {
+            if (section == null || fluid == null) return this;
+            return appendTextured(section, SpriteCache.fluid(fluid, animated), v1, v2, v3, v4, tintARGB, light, opacity, uvMode);
+        }
+
+        /** Number of sections touched so far. */
+        public int sections() {
+            return pending.size();
+        }
+
+        /** Publish every touched section once. A batch can only be committed once. */
+        public void commit() {
+            if (committed) throw new IllegalStateException("Glasswork batch already committed");
+            committed = true;
+            final BatchCommitEvent event = new BatchCommitEvent();
+            event.begin();
+            for (Pending p : pending.values()) p.packed = p.pack(); // clip and pack outside the lock
+            int changed = 0;
+            synchronized (PUBLISH) {
+                for (Map.Entry<SectionPos, Pending> e : pending.entrySet()) {
+                    final long owner = e.getKey().asLong();
+                    final Pending p = e.getValue();
+                    changed += p.replace
+                            ? replaceOwner(owner, p.packed, p.tiled)
+                            : appendOwner(owner, p.packed, p.tiled);
+                }
+            }
+            Log.d("[api.batch] committed owners={} sections changed={}", pending.size(), changed);
+            if (event.shouldCommit()) {
+                int quads = 0;
+                for (Pending p : pending.values()) for (PackedQuads q : p.packed.values()) quads += q.size();
+                event.owners = pending.size();
+                event.sectionsChanged = changed;
+                event.quads = quads;
+                event.commit();
+            }
+            pending.clear();
+        }
+
+        private Batch appendTextured(SectionPos section, @Nullable TextureAtlasSprite sprite,
+                                     Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
+                                     int tintARGB, int light, float opacity, UVMode uvMode) {
+            if (sprite == null) return this;
+            if (uvMode == UVMode.TILE_SHADER) {
+                final Pending p = pending(section);
+                for (Long2ObjectMap.Entry<TiledQuads> e : tiledQuad(sprite, v1, v2, v3, v4, tintARGB, light, opacity).long2ObjectEntrySet()) {
+                    p.tiled.merge(e.getLongKey(), e.getValue(), TiledQuads::concat);
+                }
+                return this;
+            }
+            pending(section).add(SpriteRef.of(sprite), buildTexturedQuads(sprite, v1, v2, v3, v4, tintARGB, light, opacity, uvMode));
+            return this;
+        }
+
+        private Pending pending(SectionPos section) {
+            if (committed) throw new IllegalStateException("Glasswork batch already committed");
+            return pending.computeIfAbsent(section, k -> new Pending());
+        }
+
+        private static final class Pending {
+            boolean replace;
+            /** Quads to append, grouped by the sprite they were textured with (null key: raw quads). */
+            final LinkedHashMap<SpriteRef, ArrayList<InjectedQuad>> add = new LinkedHashMap<>();
+            /** Shader-tiled pieces by target section. */
+            final Long2ObjectOpenHashMap<TiledQuads> tiled = new Long2ObjectOpenHashMap<>();
+            Long2ObjectMap<PackedQuads> packed = Long2ObjectMaps.emptyMap();
+
+            void add(@Nullable SpriteRef sprite, Collection<InjectedQuad> quads) {
+                final ArrayList<InjectedQuad> group = add.computeIfAbsent(sprite, k -> new ArrayList<>());
+                for (InjectedQuad q : quads) if (q != null) group.add(q);
+            }
+
+            /** Every group split and packed, by target section. */
+            Long2ObjectMap<PackedQuads> pack() {
+                final Long2ObjectOpenHashMap<PackedQuads> out = new Long2ObjectOpenHashMap<>();
+                for (Map.Entry<SpriteRef, ArrayList<InjectedQuad>> group : add.entrySet()) {
+                    for (Long2ObjectMap.Entry<PackedQuads> e : packSplit(group.getValue(), group.getKey()).long2ObjectEntrySet()) {
+                        out.merge(e.getLongKey(), e.getValue(), PackedQuads::concat);
+                    }
+                }
+                return out;
+            }
+        }
     }
 
     /* ===========================
@@ -170,43 +655,207 @@ public final class GlassworkAPI {
 
     public static List<InjectedQuad> _getQuads(SectionPos section) {
         if (section == null) return Collections.emptyList();
-        return QUADS.getOrDefault(section, Collections.emptyList());
+        return _getQuads(section.asLong());
+    }
+
+    /** Decoded view of the section's quads by {@link SectionPos#asLong()} key (allocates per access; not for render paths). */
+    public static List<InjectedQuad> _getQuads(long section) {
+        final SectionState st = STATES.get(section);
+        return (st != null) ? st.quads.asList(section) : Collections.emptyList();
+    }
+
+    /** Packed quad snapshot by {@link SectionPos#asLong()} key; no allocation. */
+    public static PackedQuads _getPacked(long section) {
+        final SectionState st = STATES.get(section);
+        return (st != null) ? st.quads : PackedQuads.EMPTY;
+    }
+
+    /** Shader-tiled quads by {@link SectionPos#asLong()} key; no allocation. */
+    public static TiledQuads _getTiled(long section) {
+        final SectionState st = STATES.get(section);
+        return (st != null) ? st.tiled : TiledQuads.EMPTY;
+    }
+
+    /**
+     * Take the quad range of {@link #_getPacked} whose colors/light changed since the last call without a generation
+     * bump, packed as {@code from << 32 | to}, or {@link #NO_RANGE}. Render thread (the uploader) only.
+     */
+    public static long _takePatchedRange(long section) {
+        final SectionState st = STATES.get(section);
+        return (st != null) ? st.takePatched() : NO_RANGE;
+    }
+
+    /**
+     * The section's snapshot for patching a buffer uploaded at generation {@code version}, or null if the generation
+     * moved on since (its geometry may differ). Version and snapshot are read under the publish lock so they belong
+     * together; render thread, only while a patch is pending.
+     */
+    public static @Nullable PackedQuads _patchSource(long section, int version) {
+        synchronized (PUBLISH) {
+            final SectionState st = STATES.get(section);
+            return (st != null && SectionState.version(st.state) == version) ? st.quads : null;
+        }
+    }
+
+    /** Coalescing window of the section in ns (see {@link #setUpdateWindow}); 0 if off. */
+    public static long _updateWindowNanos(long section) {
+        final SectionState st = STATES.get(section);
+        final long own = (st != null) ? st.windowNanos : -1L;
+        return (own >= 0) ? own : GlassworkConfig.updateWindowNanos();
     }
 
     public static boolean _needsUpload(SectionPos section) {
         if (section == null) return false;
-        return !Objects.equals(VER.get(section), LAST.get(section)) && !_getQuads(section).isEmpty();
+        return _needsUpload(section.asLong());
+    }
+
+    public static boolean _needsUpload(long section) {
+        final SectionState st = STATES.get(section);
+        if (st == null || st.quads.isEmpty()) return false;
+        final long s = st.state;
+        return SectionState.version(s) != SectionState.uploaded(s);
     }
 
     public static void _markUploaded(SectionPos section) {
         if (section == null) return;
-        LAST.put(section, VER.getOrDefault(section, 0));
+        final SectionState st = STATES.get(section.asLong());
+        if (st != null) st.markUploaded(SectionState.version(st.state));
+    }
+
+    /** Mark {@code version} as uploaded (the generation a finished background build was made for). */
+    public static void _markUploaded(SectionPos section, int version) {
+        if (section == null) return;
+        _markUploaded(section.asLong(), version);
+    }
+
+    public static void _markUploaded(long section, int version) {
+        final SectionState st = STATES.get(section);
+        if (st != null) st.markUploaded(version);
+    }
+
+    /**
+     * Mark {@code version} as uploaded from snapshot {@code quads}; a publish replacing a snapshot that never got
+     * this far counts as coalesced.
+     */
+    public static void _markUploaded(long section, int version, PackedQuads quads) {
+        final SectionState st = STATES.get(section);
+        if (st == null) return;
+        st.uploadedQuads = quads;
+        st.markUploaded(version);
+    }
+
+    /** Current generation of the section (0 while it holds nothing). */
+    public static int _version(SectionPos section) {
+        if (section == null) return 0;
+        return _version(section.asLong());
+    }
+
+    public static int _version(long section) {
+        final SectionState st = STATES.get(section);
+        return (st != null) ? SectionState.version(st.state) : 0;
     }
 
     public static void _bumpGeneration(SectionPos section) {
         if (section == null) return;
-        VER.merge(section, 1, (a, b) -> (a + b) & 0x7fffffff);
-        GlassworkMetrics.recordClientUploadTrigger();
+        _bumpGeneration(section.asLong());
+    }
+
+    /** Bump the generation; sections that never held quads have nothing to invalidate and are skipped. */
+    public static void _bumpGeneration(long section) {
+        final SectionState st = STATES.get(section);
+        if (st != null) st.bump();
     }
 
     public static void _clearSection(SectionPos section) {
         if (section == null) return;
-        LAST.remove(section);
+        _clearSection(section.asLong());
+    }
+
+    /** Forget what was uploaded so the next frame re-uploads. */
+    public static void _clearSection(long section) {
+        final SectionState st = STATES.get(section);
+        if (st != null) st.markUploaded(SectionState.NONE);
     }
 
     public static List<InjectedQuad> _drainFrameQuads() {
         ArrayList<InjectedQuad> out = new ArrayList<>(FRAME.size());
-        for (InjectedQuad q; (q = FRAME.poll()) != null; ) out.add(q);
-        GlassworkMetrics.recordClientFrameDrain(out.size());
+        _drainFrameQuads(out);
         return out;
     }
 
+    /** Drain pending frame quads into {@code into} (reused by the frame pass); returns the number drained. */
+    public static int _drainFrameQuads(Collection<InjectedQuad> into) {
+        int n = 0;
+        for (InjectedQuad q; (q = FRAME.poll()) != null; n++) into.add(q);
+        GlassworkMetrics.recordClientFrameDrain(n);
+        return n;
+    }
+
+    /** Copy of all non-empty sections as decoded views (allocates; commands/metrics only). */
     public static Map<SectionPos, List<InjectedQuad>> _debugSnapshot() {
-        return java.util.Collections.unmodifiableMap(QUADS);
+        final HashMap<SectionPos, List<InjectedQuad>> out = new HashMap<>();
+        STATES.forEach((key, st) -> {
+            final PackedQuads q = st.quads;
+            if (!q.isEmpty()) out.put(SectionPos.of(key), q.asList(key));
+        });
+        return Collections.unmodifiableMap(out);
+    }
+
+    /** Every section holding quads of either kind (allocates; commands only). */
+    public static List<SectionPos> _sections() {
+        final ArrayList<SectionPos> out = new ArrayList<>();
+        STATES.forEach((key, st) -> {
+            if (!st.quads.isEmpty() || !st.tiled.isEmpty()) out.add(SectionPos.of(key));
+        });
+        return out;
+    }
+
+    /** Every group that currently has quads (allocates; commands only). */
+    public static List<ResourceLocation> _groups() {
+        synchronized (PUBLISH) {
+            return new ArrayList<>(GROUPS.keySet());
+        }
+    }
+
+    /** Total shader-tiled quads across sections (commands/metrics only). */
+    public static int _tiledQuadCount() {
+        final int[] n = {0};
+        STATES.forEach((key, st) -> n[0] += st.tiled.size());
+        return n[0];
+    }
+
+    /**
+     * Move sprite-textured quads to where their sprites now sit in {@code atlas} (after a restitch); quads whose sprite
+     * did not move keep their snapshot. Returns the number of sections republished.
+     */
+    public static int _remapSprites(Function<ResourceLocation, TextureAtlasSprite> atlas) {
+        int changed = 0;
+        synchronized (PUBLISH) {
+            for (long target : STATES.keys()) {
+                final SectionState st = STATES.get(target);
+                if (st == null) continue;
+                boolean moved = remapPart(target, target, st.own, atlas);
+                if (st.foreign != null) {
+                    for (long owner : st.foreign.keySet().toLongArray()) {
+                        moved |= remapPart(owner, target, part(owner, target), atlas);
+                    }
+                }
+                if (moved) changed++;
+            }
+        }
+        return changed;
     }
 
     public static void _internalClearAll() {
-        QUADS.clear(); VER.clear(); LAST.clear(); FRAME.clear();
+        synchronized (PUBLISH) {
+            STATES.clear();
+            SPILLS.clear();
+            GROUPS.clear();
+            HIDDEN.clear();
+            SectionContentIndex.clear(SectionContentIndex.CONTENT);
+            SectionContentIndex.clear(SectionContentIndex.TILED);
+        }
+        FRAME.clear();
         Log.d("[api.clearAll] all maps/queues cleared");
     }
 
@@ -214,60 +863,343 @@ public final class GlassworkAPI {
        Helpers
        =========================== */
 
-    /** Append a quad to the section (preserves existing quads). */
-    private static void _appendQuad(SectionPos section, InjectedQuad q) {
-        if (q == null) return;
-        QUADS.merge(section, List.of(q), (oldL, one) -> {
-            ArrayList<InjectedQuad> merged = new ArrayList<>(oldL.size() + 1);
-            merged.addAll(oldL);
-            merged.addAll(one);
-            return List.copyOf(merged);
-        });
-        _bumpGeneration(section);
+    /** Append multiple quads textured with {@code sprite} (null: raw) to the section, split like {@link #put}. */
+    private static void _appendQuads(SectionPos section, List<InjectedQuad> add, @Nullable SpriteRef sprite) {
+        if (add == null || add.isEmpty()) return;
+        final Long2ObjectMap<PackedQuads> pieces = packSplit(add, sprite);
+        if (pieces.isEmpty()) return;
+        synchronized (PUBLISH) {
+            appendOwner(section.asLong(), pieces, Long2ObjectMaps.emptyMap());
+        }
     }
 
-    /** Append multiple quads to the section. */
-    private static void _appendQuads(SectionPos section, List<InjectedQuad> add) {
-        if (add == null || add.isEmpty()) return;
-        QUADS.merge(section, List.copyOf(add), (oldL, more) -> {
-            ArrayList<InjectedQuad> merged = new ArrayList<>(oldL.size() + more.size());
-            merged.addAll(oldL);
-            merged.addAll(more);
-            return List.copyOf(merged);
-        });
-        _bumpGeneration(section);
+    /** Append shader-tiled pieces (by target section) to what the section owns. */
+    private static void _appendTiled(SectionPos section, Long2ObjectMap<TiledQuads> add) {
+        if (add.isEmpty()) return;
+        synchronized (PUBLISH) {
+            appendOwner(section.asLong(), Long2ObjectMaps.emptyMap(), add);
+        }
+    }
+
+    /**
+     * Publish what a {@link QuadSink} wrote for {@code section}, appended or replacing. Sink quads are not split;
+     * replacing still clears pieces the section's earlier quads left in neighbours.
+     */
+    static void commitSink(long section, boolean replace, PackedQuads.Writer written) {
+        final int touched;
+        synchronized (PUBLISH) {
+            if (replace) {
+                touched = replaceOwner(section,
+                        Long2ObjectMaps.singleton(section, written.appendTo(PackedQuads.EMPTY)), Long2ObjectMaps.emptyMap());
+            } else {
+                final Part own = part(section, section);
+                touched = setPart(section, section, written.appendTo(own.quads()), own.tiled()) ? 1 : 0;
+            }
+        }
+        if (touched > 0 && Log.isTraceEnabled()) {
+            Log.t("[api.sink] committed section={} replace={} sections touched={}", SectionPos.of(section), replace, touched);
+        }
+    }
+
+    /**
+     * Clip {@code quads} at section borders and pack each section's pieces (skips incomplete quads), tagged with
+     * {@code sprite} so they follow it through atlas restitches.
+     */
+    private static Long2ObjectMap<PackedQuads> packSplit(Collection<InjectedQuad> quads, @Nullable SpriteRef sprite) {
+        final Long2ObjectMap<List<InjectedQuad>> pieces = SectionSplitter.split(quads);
+        final Long2ObjectOpenHashMap<PackedQuads> out = new Long2ObjectOpenHashMap<>(pieces.size());
+        for (Long2ObjectMap.Entry<List<InjectedQuad>> e : pieces.long2ObjectEntrySet()) {
+            final PackedQuads packed = PackedQuads.pack(e.getLongKey(), e.getValue());
+            if (!packed.isEmpty()) out.put(e.getLongKey(), (sprite != null) ? packed.withSprite(sprite) : packed);
+        }
+        return out;
+    }
+
+    private static boolean isComplete(@Nullable InjectedQuad q) {
+        return q != null && q.v1() != null && q.v2() != null && q.v3() != null && q.v4() != null;
+    }
+
+    /**
+     * Make {@code quads}/{@code tiled} (by target section) everything {@code owner} has published: targets it no
+     * longer reaches are cleared, and so are the owner's handle quads. Caller holds {@link #PUBLISH}; returns the number of sections that changed.
+     */
+    private static int replaceOwner(long owner, Long2ObjectMap<PackedQuads> quads, Long2ObjectMap<TiledQuads> tiled) {
+        final LongOpenHashSet targets = new LongOpenHashSet(quads.keySet());
+        targets.addAll(tiled.keySet());
+        targets.add(owner);
+        final LongOpenHashSet spilled = SPILLS.get(owner);
+        if (spilled != null) targets.addAll(spilled);
+        int changed = 0;
+        boolean ownChanged = false;
+        for (LongIterator it = targets.iterator(); it.hasNext(); ) {
+            final long target = it.nextLong();
+            if (setPart(owner, target, quads.getOrDefault(target, PackedQuads.EMPTY),
+                    tiled.getOrDefault(target, TiledQuads.EMPTY))) {
+                changed++;
+                if (target == owner) ownChanged = true;
+            }
+        }
+        final SectionState self = STATES.get(owner);
+        if (self != null && self.slots != null && !self.slots.isEmpty()) {
+            self.slots.clear();
+            publish(owner, self, combinedQuads(self), self.tiled);
+            if (!ownChanged) changed++;
+        }
+        return changed;
+    }
+
+    /** Append pieces to {@code owner}'s share of each target. Caller holds {@link #PUBLISH}; returns sections changed. */
+    private static int appendOwner(long owner, Long2ObjectMap<PackedQuads> quads, Long2ObjectMap<TiledQuads> tiled) {
+        final LongOpenHashSet targets = new LongOpenHashSet(quads.keySet());
+        targets.addAll(tiled.keySet());
+        int changed = 0;
+        for (LongIterator it = targets.iterator(); it.hasNext(); ) {
+            final long target = it.nextLong();
+            final Part old = part(owner, target);
+            if (setPart(owner, target,
+                    PackedQuads.concat(old.quads(), quads.getOrDefault(target, PackedQuads.EMPTY)),
+                    TiledQuads.concat(old.tiled(), tiled.getOrDefault(target, TiledQuads.EMPTY)))) changed++;
+        }
+        return changed;
+    }
+
+    /** {@code owner}'s current share of {@code target} (caller holds {@link #PUBLISH}). */
+    private static Part part(long owner, long target) {
+        final SectionState st = STATES.get(target);
+        if (st == null) return Part.EMPTY;
+        if (owner == target) return st.own;
+        final Part p = (st.foreign != null) ? st.foreign.get(owner) : null;
+        return (p != null) ? p : Part.EMPTY;
+    }
+
+    /**
+     * Set {@code owner}'s share of {@code target} and republish {@code target} if it changed (caller holds
+     * {@link #PUBLISH}). The combined snapshot is rebuilt only for the kind that changed, so e.g. a tiled-only edit
+     * keeps the {@code quads} identity and does not bump the generation. Content identical to what is stored (a
+     * caller re-putting the same quads) keeps the stored snapshot, so it does not bump either.
+     */
+    private static boolean setPart(long owner, long target, PackedQuads quads, TiledQuads tiled) {
+        final Part old = part(owner, target);
+        if (old.quads() == quads && old.tiled() == tiled) return false;
+        if (old.quads() != quads && old.quads().sameContent(quads)) quads = old.quads();
+        if (old.tiled() != tiled && old.tiled().sameContent(tiled)) tiled = old.tiled();
+        if (old.quads() == quads && old.tiled() == tiled) {
+            GlassworkMetrics.recordClientDedupSkip();
+            return false;
+        }
+        final Part next = (quads.isEmpty() && tiled.isEmpty()) ? Part.EMPTY : new Part(quads, tiled);
+        final SectionState st = state(target);
+        if (owner == target) {
+            st.own = next;
+        } else {
+            if (next.isEmpty()) {
+                if (st.foreign != null) {
+                    st.foreign.remove(owner);
+                    if (st.foreign.isEmpty()) st.foreign = null;
+                }
+            } else {
+                if (st.foreign == null) st.foreign = new Long2ObjectArrayMap<>(1);
+                st.foreign.put(owner, next);
+            }
+            trackSpill(owner, target, !next.isEmpty());
+        }
+        publish(target, st,
+                (old.quads() == quads) ? st.quads : combinedQuads(st),
+                (old.tiled() == tiled) ? st.tiled : combinedTiled(st));
+        return true;
+    }
+
+    /** Make {@code pieces} (by target section) all of {@code group}'s quads. Caller holds {@link #PUBLISH}; returns sections republished. */
+    private static int replaceGroup(ResourceLocation group, Long2ObjectMap<PackedQuads> pieces) {
+        final LongOpenHashSet targets = new LongOpenHashSet(pieces.keySet());
+        final LongOpenHashSet old = GROUPS.get(group);
+        if (old != null) targets.addAll(old);
+        int changed = 0;
+        for (LongIterator it = targets.iterator(); it.hasNext(); ) {
+            final long target = it.nextLong();
+            if (setGroupPart(group, target, pieces.getOrDefault(target, PackedQuads.EMPTY))) changed++;
+        }
+        return changed;
+    }
+
+    /** {@code group}'s current quads in {@code target} (caller holds {@link #PUBLISH}). */
+    private static PackedQuads groupPart(ResourceLocation group, long target) {
+        final SectionState st = STATES.get(target);
+        final PackedQuads q = (st != null && st.groups != null) ? st.groups.get(group) : null;
+        return (q != null) ? q : PackedQuads.EMPTY;
+    }
+
+    /**
+     * Set {@code group}'s quads in {@code target} and keep {@link #GROUPS} in step (caller holds {@link #PUBLISH}).
+     * Returns true if {@code target} was republished, which a hidden group never causes.
+     */
+    private static boolean setGroupPart(ResourceLocation group, long target, PackedQuads quads) {
+        final PackedQuads old = groupPart(group, target);
+        if (old == quads || (old.isEmpty() && quads.isEmpty())) return false;
+        if (old.sameContent(quads)) {
+            GlassworkMetrics.recordClientDedupSkip();
+            return false;
+        }
+        final SectionState st = state(target);
+        if (quads.isEmpty()) {
+            st.groups.remove(group);
+            if (st.groups.isEmpty()) st.groups = null;
+            final LongOpenHashSet sections = GROUPS.get(group);
+            if (sections != null && sections.remove(target) && sections.isEmpty()) GROUPS.remove(group);
+        } else {
+            if (st.groups == null) st.groups = new Object2ObjectArrayMap<>(1);
+            st.groups.put(group, quads);
+            GROUPS.computeIfAbsent(group, k -> new LongOpenHashSet(4)).add(target);
+        }
+        if (HIDDEN.contains(group)) {
+            dropIfEmpty(target, st);
+            return false;
+        }
+        publish(target, st, combinedQuads(st), st.tiled);
+        return true;
+    }
+
+    /** Index of {@code group}'s first quad in the combined snapshot: after own and handle quads and earlier visible groups. */
+    private static int groupOffset(SectionState st, ResourceLocation group) {
+        int at = st.own.quads().size() + ((st.slots != null) ? st.slots.size() : 0);
+        if (st.groups == null) return at;
+        for (Object2ObjectMap.Entry<ResourceLocation, PackedQuads> e : st.groups.object2ObjectEntrySet()) {
+            if (e.getKey().equals(group)) break;
+            if (!HIDDEN.contains(e.getKey())) at += e.getValue().size();
+        }
+        return at;
+    }
+
+    private static int patchOwn(SectionPos section, int fromQuad, int count, int mask, int argb, int light) {
+        if (section == null || count <= 0) return 0;
+        final long key = section.asLong();
+        synchronized (PUBLISH) {
+            final SectionState st = STATES.get(key);
+            if (st == null) return 0;
+            final Part own = st.own;
+            final int from = Math.max(0, fromQuad);
+            final int to = (int) Math.min(own.quads().size(), (long) fromQuad + count);
+            if (from >= to) return 0;
+            st.own = new Part(own.quads().withAttributes(from, to, mask, argb, light), own.tiled());
+            publishPatched(key, st, from, to); // own quads come first in the combined snapshot
+            return to - from;
+        }
+    }
+
+    private static boolean patchHandle(QuadHandle handle, int mask, int argb, int light) {
+        if (handle == null) return false;
+        synchronized (PUBLISH) {
+            final SectionState st = STATES.get(handle.section());
+            if (st == null || st.slots == null) return false;
+            final int dense = st.slots.patch(handle.slot(), handle.serial(), mask, argb, light);
+            if (dense < 0) return false;
+            final int at = st.own.quads().size() + dense; // handle quads follow the own quads
+            publishPatched(handle.section(), st, at, at + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Publish an attribute-only change of quads {@code [from, to)} (caller holds {@link #PUBLISH}). Geometry is
+     * unchanged, so there is no generation bump: the renderer patches the uploaded vertex buffer in place. Sections
+     * baked by vanilla ({@link GlassworkConfig.InjectionMode#COMPILE}) have no buffer of ours and take the normal path.
+     */
+    private static void publishPatched(long section, SectionState st, int from, int to) {
+        final PackedQuads all = combinedQuads(st);
+        if (GlassworkConfig.injectionMode() == GlassworkConfig.InjectionMode.COMPILE) {
+            publish(section, st, all, st.tiled);
+            return;
+        }
+        if (st.uploadedQuads == st.quads) st.uploadedQuads = all; // same geometry, patched in place
+        st.quads = all;
+        st.widenPatched(from, to);
+    }
+
+    private static boolean remapPart(long owner, long target, Part p, Function<ResourceLocation, TextureAtlasSprite> atlas) {
+        return setPart(owner, target, p.quads().remapSprites(atlas), p.tiled().remapSprites(atlas));
+    }
+
+    private static void trackSpill(long owner, long target, boolean present) {
+        if (present) {
+            SPILLS.computeIfAbsent(owner, k -> new LongOpenHashSet(4)).add(target);
+            return;
+        }
+        final LongOpenHashSet targets = SPILLS.get(owner);
+        if (targets != null && targets.remove(target) && targets.isEmpty()) SPILLS.remove(owner);
+    }
+
+    private static PackedQuads combinedQuads(SectionState st) {
+        PackedQuads all = st.own.quads();
+        if (st.slots != null) all = PackedQuads.concat(all, st.slots.snapshot());
+        if (st.groups != null) {
+            for (Object2ObjectMap.Entry<ResourceLocation, PackedQuads> e : st.groups.object2ObjectEntrySet()) {
+                if (!HIDDEN.contains(e.getKey())) all = PackedQuads.concat(all, e.getValue());
+            }
+        }
+        if (st.foreign != null) for (Part p : st.foreign.values()) all = PackedQuads.concat(all, p.quads());
+        return all;
+    }
+
+    private static TiledQuads combinedTiled(SectionState st) {
+        TiledQuads all = st.own.tiled();
+        if (st.foreign != null) for (Part p : st.foreign.values()) all = TiledQuads.concat(all, p.tiled());
+        return all;
+    }
+
+    /**
+     * Publish a new snapshot (caller holds {@link #PUBLISH}); the render-side content index is updated first.
+     * Only a change of {@code quads} bumps the generation and, in {@link GlassworkConfig.InjectionMode#COMPILE} mode,
+     * queues a vanilla recompile; tiled quads are picked up by their own pass.
+     */
+    private static void publish(long section, SectionState st, PackedQuads quads, TiledQuads tiled) {
+        SectionContentIndex.set(section, SectionContentIndex.CONTENT, !quads.isEmpty());
+        SectionContentIndex.set(section, SectionContentIndex.TILED, !tiled.isEmpty());
+        st.tiled = tiled;
+        if (st.quads != quads) {
+            final PackedQuads replaced = st.quads;
+            if (!replaced.isEmpty() && replaced != st.uploadedQuads
+                    && GlassworkConfig.injectionMode() == GlassworkConfig.InjectionMode.MERGE) {
+                GlassworkMetrics.recordClientVersionsCoalesced(1); // never reached the GPU
+            }
+            st.quads = quads;
+            st.bump();
+            if (GlassworkConfig.injectionMode() == GlassworkConfig.InjectionMode.COMPILE) {
+                SectionContentIndex.requestRecompile(section);
+            }
+        }
+        dropIfEmpty(section, st);
     }
 
-    private static TextureAtlasSprite resolveSprite(ResourceLocation id) {
-        var mc = Minecraft.getInstance();
-        if (mc == null) return null;
-        Function<ResourceLocation, TextureAtlasSprite> atlas = mc.getTextureAtlas(TextureAtlas.LOCATION_BLOCKS);
-        return atlas.apply(id);
+    /** Forget {@code st} once it holds nothing (caller holds {@link #PUBLISH}); {@link #state} makes a fresh one. */
+    private static void dropIfEmpty(long section, SectionState st) {
+        if (st.isEmpty()) STATES.remove(section, st);
     }
 
-    private static TextureAtlasSprite resolveParticleSprite(Block block) {
-        var mc = Minecraft.getInstance();
-        if (mc == null) return null;
-        BlockModelShaper shaper = mc.getBlockRenderer().getBlockModelShaper();
-        BakedModel model = shaper.getBlockModel(block.defaultBlockState());
-        return model.getParticleIcon();
+    /** Append a textured quad: shader-tiled quads go to the tiled pass, everything else into the section mesh. */
+    private static void appendTextured(SectionPos section, @Nullable TextureAtlasSprite sprite,
+                                       Vector3f v1, Vector3f v2, Vector3f v3, Vector3f v4,
+                                       int tintARGB, int light, float opacity, UVMode uvMode) {
+        if (sprite == null) return;
+        if (uvMode == UVMode.TILE_SHADER) {
+            _appendTiled(section, tiledQuad(sprite, v1, v2, v3, v4, tintARGB, light, opacity));
+        } else {
+            _appendQuads(section, buildTexturedQuads(sprite, v1, v2, v3, v4, tintARGB, light, opacity, uvMode), SpriteRef.of(sprite));
+        }
     }
 
-    private static TextureAtlasSprite resolveBlockFaceSprite(Block block, Direction face) {
-        try {
-            var mc = Minecraft.getInstance();
-            if (mc == null) return null;
-            BlockModelShaper shaper = mc.getBlockRenderer().getBlockModelShaper();
-            BakedModel model = shaper.getBlockModel(block.defaultBlockState());
-            // getQuads(state, face, rand) – try face-specific first
-            List<BakedQuad> quads = model.getQuads(block.defaultBlockState(), face, RandomSource.create());
-            if (!quads.isEmpty()) return quads.getFirst().getSprite();
-            // fall back to particle
-            return model.getParticleIcon();
-        } catch (Throwable t) {
-            Log.d("[api.resolveBlockFaceSprite] failed: {}", t.getMessage());
-            return null;
+    private static @Nullable TextureAtlasSprite blockSprite(ResourceLocation textureId) {
+        TextureAtlasSprite sprite = SpriteCache.byId(textureId);
+        if (sprite == null) Log.w("[api.putBlockTexture(id)] sprite not found: {}", textureId);
+        return sprite;
+    }
+
+    private static @Nullable TextureAtlasSprite blockSprite(Block block, String face) {
+        TextureAtlasSprite sprite = SpriteCache.blockFace(block, parseFace(face));
+        if (sprite == null) {
+            Log.w("[api.putBlockTexture(block)] face sprite missing for {} face={} -> particle", block, face);
+            sprite = SpriteCache.particle(block);
         }
+        return sprite;
     }
 
     private static Direction parseFace(String s) {
@@ -284,55 +1216,6 @@ public final class GlassworkAPI {
         };
     }
 
-    /**
-     * Try Fabric's FluidRenderHandlerRegistry for modded fluids; otherwise fall back to vanilla ids.
-     * animated=true chooses the "flowing" sprite when available; false chooses "still".
-     */
-    private static TextureAtlasSprite resolveFluidSprite(Fluid fluid, boolean animated) {
-        var mc = Minecraft.getInstance();
-        if (mc == null) return null;
-
-        // Try Fabric registry if present
-        try {
-            if (FabricLoader.getInstance().isModLoaded("fabric-rendering-fluids-v1")) {
-                // Use reflection to avoid a hard compile dep in this file
-                Class<?> regClass = Class.forName("net.fabricmc.fabric.api.client.render.fluid.v1.FluidRenderHandlerRegistry");
-                Object registry = regClass.getField("INSTANCE").get(null);
-                var get = regClass.getMethod("get", Fluid.class).invoke(registry, fluid);
-                if (get != null) {
-                    // getFluidSprites(Level, BlockPos, FluidState)
-                    var method = get.getClass().getMethod("getFluidSprites",
-                            net.minecraft.world.level.BlockAndTintGetter.class,
-                            BlockPos.class,
-                            net.minecraft.world.level.material.FluidState.class);
-                    var level = mc.level;
-                    var pos = BlockPos.ZERO;
-                    var state = fluid.defaultFluidState();
-                    TextureAtlasSprite[] sprites = (TextureAtlasSprite[]) method.invoke(get, level, pos, state);
-                    if (sprites != null && sprites.length > 0) {
-                        // Vanilla ordering: [still, flowing]
-                        int idx = animated && sprites.length > 1 ? 1 : 0;
-                        return sprites[Math.min(idx, sprites.length - 1)];
-                    }
-                }
-            }
-        } catch (Throwable t) {
-            // ignore and fall through to vanilla fallback
-            Log.t("[api.resolveFluidSprite] Fabric handler not available: {}", t.getMessage());
-        }
-
-        // Vanilla fallback for common fluids
-        ResourceLocation id;
-        String ns = "minecraft";
-        if (fluid.toString().contains("lava")) {
-            id = ResourceLocation.fromNamespaceAndPath(ns, animated ? "block/lava_flow" : "block/lava_still");
-        } else {
-            // default to water
-            id = ResourceLocation.fromNamespaceAndPath(ns, animated ? "block/water_flow" : "block/water_still");
-        }
-        return resolveSprite(id);
-    }
-
     // Build one-or-many quads depending on UVMode and orientation.
     private static List<InjectedQuad> buildTexturedQuads(TextureAtlasSprite sprite,
                                                          Vector3f p1, Vector3f p2, Vector3f p3, Vector3f p4,
@@ -363,6 +1246,7 @@ public final class GlassworkAPI {
 
         if (constZ) {
             float z = p1.z;
+            float nz = (z >= 0 ? 1 : -1);
             float minX = Math.min(Math.min(p1.x, p2.x), Math.min(p3.x, p4.x));
             float maxX = Math.max(Math.max(p1.x, p2.x), Math.max(p3.x, p4.x));
             float minY = Math.min(Math.min(p1.y, p2.y), Math.min(p3.y, p4.y));
@@ -382,23 +1266,18 @@ public final class GlassworkAPI {
                     float yB = Math.min(maxY, yi + 1f);
                     if (yB - yA <= eps) continue;
 
-                    // Tile vertices (bottom-left → bottom-right → top-right → top-left)
-                    Vector3f q1p = new Vector3f(xA, yA, z);
-                    Vector3f q2p = new Vector3f(xB, yA, z);
-                    Vector3f q3p = new Vector3f(xB, yB, z);
-                    Vector3f q4p = new Vector3f(xA, yB, z);
-
-                    // Full 0..1 sprite per tile:
-                    QuadVertex q1 = new QuadVertex(q1p.x, q1p.y, q1p.z, u0, v0, tintARGB, light, 0, 0, 0, (z >= 0 ? 1 : -1));
-                    QuadVertex q2 = new QuadVertex(q2p.x, q2p.y, q2p.z, u1, v0, tintARGB, light, 0, 0, 0, (z >= 0 ? 1 : -1));
-                    QuadVertex q3 = new QuadVertex(q3p.x, q3p.y, q3p.z, u1, v1, tintARGB, light, 0, 0, 0, (z >= 0 ? 1 : -1));
-                    QuadVertex q4 = new QuadVertex(q4p.x, q4p.y, q4p.z, u0, v1, tintARGB, light, 0, 0, 0, (z >= 0 ? 1 : -1));
+                    // Tile vertices (bottom-left → bottom-right → top-right → top-left), full 0..1 sprite per tile
+                    QuadVertex q1 = new QuadVertex(xA, yA, z, u0, v0, tintARGB, light, 0, 0, 0, nz);
+                    QuadVertex q2 = new QuadVertex(xB, yA, z, u1, v0, tintARGB, light, 0, 0, 0, nz);
+                    QuadVertex q3 = new QuadVertex(xB, yB, z, u1, v1, tintARGB, light, 0, 0, 0, nz);
+                    QuadVertex q4 = new QuadVertex(xA, yB, z, u0, v1, tintARGB, light, 0, 0, 0, nz);
                     out.add(new InjectedQuad(q1, q2, q3, q4));
                 }
             }
             return out;
         } else { // constX
             float x = p1.x;
+            float nx = (x >= 0 ? 1 : -1);
             float minZ = Math.min(Math.min(p1.z, p2.z), Math.min(p3.z, p4.z));
             float maxZ = Math.max(Math.max(p1.z, p2.z), Math.max(p3.z, p4.z));
             float minY = Math.min(Math.min(p1.y, p2.y), Math.min(p3.y, p4.y));
@@ -418,15 +1297,10 @@ public final class GlassworkAPI {
                     float yB = Math.min(maxY, yi + 1f);
                     if (yB - yA <= eps) continue;
 
-                    Vector3f q1p = new Vector3f(x, yA, zA);
-                    Vector3f q2p = new Vector3f(x, yA, zB);
-                    Vector3f q3p = new Vector3f(x, yB, zB);
-                    Vector3f q4p = new Vector3f(x, yB, zA);
-
-                    QuadVertex q1 = new QuadVertex(q1p.x, q1p.y, q1p.z, u0, v0, tintARGB, light, 0, (x >= 0 ? 1 : -1), 0, 0);
-                    QuadVertex q2 = new QuadVertex(q2p.x, q2p.y, q2p.z, u1, v0, tintARGB, light, 0, (x >= 0 ? 1 : -1), 0, 0);
-                    QuadVertex q3 = new QuadVertex(q3p.x, q3p.y, q3p.z, u1, v1, tintARGB, light, 0, (x >= 0 ? 1 : -1), 0, 0);
-                    QuadVertex q4 = new QuadVertex(q4p.x, q4p.y, q4p.z, u0, v1, tintARGB, light, 0, (x >= 0 ? 1 : -1), 0, 0);
+                    QuadVertex q1 = new QuadVertex(x, yA, zA, u0, v0, tintARGB, light, 0, nx, 0, 0);
+                    QuadVertex q2 = new QuadVertex(x, yA, zB, u1, v0, tintARGB, light, 0, nx, 0, 0);
+                    QuadVertex q3 = new QuadVertex(x, yB, zB, u1, v1, tintARGB, light, 0, nx, 0, 0);
+                    QuadVertex q4 = new QuadVertex(x, yB, zA, u0, v1, tintARGB, light, 0, nx, 0, 0);
                     out.add(new InjectedQuad(q1, q2, q3, q4));
                 }
             }
@@ -434,14 +1308,74 @@ public final class GlassworkAPI {
         }
     }
 
-    /** Build one InjectedQuad with UVs derived from the sprite and mode. */
+    /**
+     * One {@link UVMode#TILE_SHADER} quad: UVs in world units along {@code (p1→p2)} and {@code (p1→p4)}, with the
+     * sprite's atlas bounds on every vertex for the tiling shader. Split at section borders; pieces by section.
+     */
+    private static Long2ObjectMap<TiledQuads> tiledQuad(TextureAtlasSprite sprite,
+                                                        Vector3f p1, Vector3f p2, Vector3f p3, Vector3f p4,
+                                                        int tintARGB, int light, float opacity) {
+        final int argb = tint(tintARGB, opacity);
+        final Vector3f u = new Vector3f(p2).sub(p1);
+        final Vector3f v = new Vector3f(p4).sub(p1);
+        final Vector3f n = new Vector3f(u).cross(v).normalize();
+        final float uLen = u.length(), vLen = v.length();
+
+        // x, y, z, tile u, tile v: the splitter interpolates the tile coordinates, so the pattern stays continuous
+        final float[][] corners = {
+                {p1.x, p1.y, p1.z, 0f, 0f},
+                {p2.x, p2.y, p2.z, uLen, 0f},
+                {p3.x, p3.y, p3.z, uLen, vLen},
+                {p4.x, p4.y, p4.z, 0f, vLen}
+        };
+        final Long2ObjectOpenHashMap<TiledQuads.Writer> writers = new Long2ObjectOpenHashMap<>(1);
+        final SectionSplitter.QuadConsumer piece = (section, a, b, c, d) -> {
+            final TiledQuads.Writer w = writers.computeIfAbsent(section, k -> new TiledQuads.Writer());
+            final float ox = SectionPos.sectionToBlockCoord(SectionPos.x(section));
+            final float oy = SectionPos.sectionToBlockCoord(SectionPos.y(section));
+            final float oz = SectionPos.sectionToBlockCoord(SectionPos.z(section));
+            tiledVertex(w, a, ox, oy, oz, argb, light, n, sprite);
+            tiledVertex(w, b, ox, oy, oz, argb, light, n, sprite);
+            tiledVertex(w, c, ox, oy, oz, argb, light, n, sprite);
+            tiledVertex(w, d, ox, oy, oz, argb, light, n, sprite);
+        };
+        final long single = SectionSplitter.sectionOf(corners);
+        if (single != Long.MAX_VALUE) {
+            piece.accept(single, corners[0], corners[1], corners[2], corners[3]);
+        } else {
+            SectionSplitter.split(corners, 5, piece);
+        }
+
+        final SpriteRef ref = SpriteRef.of(sprite);
+        final Long2ObjectOpenHashMap<TiledQuads> out = new Long2ObjectOpenHashMap<>(writers.size());
+        for (Long2ObjectMap.Entry<TiledQuads.Writer> e : writers.long2ObjectEntrySet()) {
+            out.put(e.getLongKey(), e.getValue().appendTo(TiledQuads.EMPTY).withSprite(ref));
+        }
+        return out;
+    }
+
+    private static void tiledVertex(TiledQuads.Writer w, float[] p, float ox, float oy, float oz,
+                                    int argb, int light, Vector3f n, TextureAtlasSprite sprite) {
+        w.vertex(p[0] - ox, p[1] - oy, p[2] - oz);
+        w.uv(p[3], p[4]);
+        w.color(argb);
+        w.light(light);
+        w.normal(n.x, n.y, n.z);
+        w.sprite(sprite.getU0(), sprite.getV0(), sprite.getU1(), sprite.getV1());
+    }
+
+    /** {@code tintARGB} with its alpha scaled by {@code opacity} (0..1). */
+    private static int tint(int tintARGB, float opacity) {
+        int a = (tintARGB >>> 24) & 0xFF;
+        int alpha = Math.max(0, Math.min(255, Math.round(a * Math.max(0f, Math.min(1f, opacity)))));
+        return (alpha << 24) | (tintARGB & 0x00FFFFFF);
+    }
+
     /** Build one quad; if wrap=true, UVs are wrapped with frac() to avoid atlas bleeding. */
     private static InjectedQuad buildTexturedQuad(TextureAtlasSprite sprite,
                                                   Vector3f p1, Vector3f p2, Vector3f p3, Vector3f p4,
                                                   int tintARGB, int light, float opacity, boolean wrap) {
-        int a = (tintARGB >>> 24) & 0xFF, r = (tintARGB >>> 16) & 0xFF, g = (tintARGB >>> 8) & 0xFF, b = (tintARGB) & 0xFF;
-        int alpha = Math.max(0, Math.min(255, Math.round(a * Math.max(0f, Math.min(1f, opacity)))));
-        int argb = (alpha << 24) | (r << 16) | (g << 8) | b;
+        int argb = tint(tintARGB, opacity);
 
         Vector3f u = new Vector3f(p2).sub(p1);
         Vector3f v = new Vector3f(p4).sub(p1);
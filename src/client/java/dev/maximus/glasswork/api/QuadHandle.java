@@ -0,0 +1,14 @@
+package dev.maximus.glasswork.api;
+
+import net.minecraft.core.SectionPos;
+
+/**
+ * Handle to one quad added with {@link GlassworkAPI#add}, for {@link GlassworkAPI#update} and
+ * {@link GlassworkAPI#remove}. Goes stale once the quad is removed or its section is replaced or cleared; stale
+ * handles are ignored, never matched to another quad.
+ */
+public record QuadHandle(long section, int slot, int serial) {
+    public SectionPos sectionPos() {
+        return SectionPos.of(section);
+    }
+}
@@ -0,0 +1,113 @@
+package dev.maximus.glasswork.api;
+
+import dev.maximus.glasswork.client.internal.mesh.PackedQuads;
+import net.minecraft.core.SectionPos;
+
+/**
+ * Streaming writer for persistent quads that does not allocate per quad or per vertex.
+ * <p>Vertices go straight into Glasswork's packed section storage; {@link #commit()} publishes them with one copy
+ * and one generation bump. Get one from {@link GlassworkAPI#quadSink()} and keep it: the staging buffer is reused
+ * across {@link #begin}/{@link #commit} rounds. Not thread-safe; use one sink per producer thread.</p>
+ * <pre>{@code
+ * sink.begin(section);
+ * sink.vertex(x0, y0, z0).uv(u0, v0).color(argb).light(light).normal(0, 0, 1);
+ * // ... three more vertices per quad, corners in order
+ * sink.commit();
+ * }</pre>
+ * <p>Positions are world-space, like {@link QuadVertex}. Attributes apply to the last {@link #vertex}; unset ones
+ * default to white, UV 0, full-bright and an up normal.
+ * Unlike {@link GlassworkAPI#put}, quads are not split at section borders; keep them inside the section.</p>
+ */
+public final class QuadSink {
+    private final PackedQuads.Writer writer = new PackedQuads.Writer();
+    private long section;
+    private float ox, oy, oz;
+    private boolean open;
+    private boolean replace;
+
+    QuadSink() {}
+
+    /** Start appending to {@code section}'s existing quads. */
+    public QuadSink begin(SectionPos section) {
+        return begin(section, false);
+    }
+
+    /** Start writing quads that replace everything in {@code section} (committing none clears it). */
+    public QuadSink beginReplace(SectionPos section) {
+        return begin(section, true);
+    }
+
+    private QuadSink begin(SectionPos section, boolean replace) {
+        if (section == null) throw new IllegalArgumentException("section must not be null");
+        if (open) throw new IllegalStateException("QuadSink already open for " + SectionPos.of(this.section));
+        this.section = section.asLong();
+        this.ox = section.minBlockX();
+        this.oy = section.minBlockY();
+        this.oz = section.minBlockZ();
+        this.replace = replace;
+        this.open = true;
+        writer.reset();
+        return this;
+    }
+
+    /** Start a vertex at a world-space position. */
+    public QuadSink vertex(float x, float y, float z) {
+        ensureOpen();
+        writer.vertex(x - ox, y - oy, z - oz);
+        return this;
+    }
+
+    /** Atlas UV of the current vertex. */
+    public QuadSink uv(float u, float v) {
+        writer.uv(u, v);
+        return this;
+    }
+
+    /** ARGB color ({@code 0xAARRGGBB}) of the current vertex. */
+    public QuadSink color(int argb) {
+        writer.color(argb);
+        return this;
+    }
+
+    /** Packed light of the current vertex. */
+    public QuadSink light(int packedLight) {
+        writer.light(packedLight);
+        return this;
+    }
+
+    public QuadSink normal(float nx, float ny, float nz) {
+        writer.normal(nx, ny, nz);
+        return this;
+    }
+
+    /** Complete quads written since {@link #begin}. */
+    public int quads() {
+        return writer.vertexCount() / 4;
+    }
+
+    /** Publish what was written. Throws if the last quad is incomplete. */
+    public void commit() {
+        ensureOpen();
+        final int vertices = writer.vertexCount();
+        if ((vertices & 3) != 0) {
+            throw new IllegalStateException("QuadSink has " + vertices + " vertices; quads need 4 each");
+        }
+        open = false;
+        GlassworkAPI.commitSink(section, replace, writer);
+        writer.reset();
+    }
+
+    /** Drop what was written without publishing. */
+    public void discard() {
+        open = false;
+        writer.reset();
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    private void ensureOpen() {
+        if (!open) throw new IllegalStateException("QuadSink not open; call begin(section) first");
+    }
+}
@@ -1,15 +1,24 @@
 package dev.maximus.glasswork.client;
 
+import com.mojang.blaze3d.systems.RenderSystem;
 import dev.maximus.glasswork.Constant;
 import dev.maximus.glasswork.api.GlassworkAPI;
 import dev.maximus.glasswork.client.commands.GlassworkClientCommands;
+import dev.maximus.glasswork.client.internal.mesh.NativeBufferPool;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
+import dev.maximus.glasswork.client.internal.mesh.SectionMeshCache;
 import dev.maximus.glasswork.client.internal.mesh.TranslucentMeshStore;
+import dev.maximus.glasswork.client.internal.render.FrameQuadRenderer;
+import dev.maximus.glasswork.client.internal.render.GlassworkShaders;
+import dev.maximus.glasswork.client.internal.render.SpriteCache;
+import dev.maximus.glasswork.client.internal.render.TiledQuadRenderer;
 import dev.maximus.glasswork.util.Log;
 import dev.maximus.glasswork.util.Safe;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 
 @Environment(EnvType.CLIENT)
@@ -20,12 +29,17 @@ public final class GlassworkClient implements ClientModInitializer {
 
         // No networking at all
         Safe.run("registerClientCommands", GlassworkClientCommands::register);
+        Safe.run("registerShaders", GlassworkShaders::register);
+        Safe.run("registerSpriteCache", SpriteCache::register);
 
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
             Log.d("[lifecycle] Client DISCONNECT -> clearing client state");
             clearClientState("disconnect");
         });
 
+        // Free pooled native buffers that sat idle
+        ClientTickEvents.END_CLIENT_TICK.register(client -> NativeBufferPool.tick());
+
         ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
             Log.d("[lifecycle] Client STOPPING -> clearing client state");
             clearClientState("client_stopping");
@@ -37,6 +51,20 @@ public final class GlassworkClient implements ClientModInitializer {
     private static void clearClientState(final String reason) {
         Safe.run("clearClientState[" + reason + "]:GlassworkAPI._internalClearAll", GlassworkAPI::_internalClearAll);
         Safe.run("clearClientState[" + reason + "]:TranslucentMeshStore.clearAll", TranslucentMeshStore::clearAll);
+        Safe.run("clearClientState[" + reason + "]:SectionMeshCache.clearAll", SectionMeshCache::clearAll);
+        Safe.run("clearClientState[" + reason + "]:SectionContentIndex.clearAll", SectionContentIndex::clearAll);
+        Safe.run("clearClientState[" + reason + "]:NativeBufferPool.trimAll", NativeBufferPool::trimAll);
+        // GPU buffers must be released on the render thread
+        if (RenderSystem.isOnRenderThread()) {
+            closeRenderers(reason);
+        } else {
+            RenderSystem.recordRenderCall(() -> closeRenderers(reason));
+        }
         Log.d("[lifecycle] Client state cleared ({})", reason);
     }
+
+    private static void closeRenderers(final String reason) {
+        Safe.run("clearClientState[" + reason + "]:FrameQuadRenderer.close", FrameQuadRenderer::close);
+        Safe.run("clearClientState[" + reason + "]:TiledQuadRenderer.close", TiledQuadRenderer::close);
+    }
 }
@@ -4,9 +4,16 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.arguments.FloatArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import dev.maximus.glasswork.GlassworkConfig;
 import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.GlassworkProfiler;
 import dev.maximus.glasswork.api.GlassworkAPI;
 import dev.maximus.glasswork.api.GlassworkAPI.UVMode;
+import dev.maximus.glasswork.client.internal.mesh.NativeBufferPool;
+import dev.maximus.glasswork.client.internal.mesh.NativeMemory;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
+import dev.maximus.glasswork.client.internal.mesh.TranslucentMeshStore;
+import dev.maximus.glasswork.client.internal.mesh.UploadScheduler;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
@@ -38,9 +45,11 @@ public final class GlassworkClientCommands {
                             long submits = GlassworkMetrics.clientFrameSubmits();
                             long drains  = GlassworkMetrics.clientFrameDrains();
                             long uploads = GlassworkMetrics.clientUploadsTriggered();
+                            long resorts = GlassworkMetrics.clientResorts();
 
                             int sections   = getClientSectionCount();
                             int totalQuads = getClientQuadCount();
+                            int tiledQuads = GlassworkAPI._tiledQuadCount();
 
                             long meshStores   = GlassworkMetrics.clientMeshStores();
                             long meshReplaces = GlassworkMetrics.clientMeshReplaces();
@@ -50,23 +59,52 @@ public final class GlassworkClientCommands {
                             long meshBytesOut = GlassworkMetrics.clientMeshBytesOut();
                             long meshErrors   = GlassworkMetrics.clientMeshErrors();
 
+                            long liveBytes    = TranslucentMeshStore.liveBytes();
+                            long evictedBytes = TranslucentMeshStore.evictedBytes();
+                            long budgetBytes  = GlassworkConfig.trackedBudgetBytes();
+                            long evicts       = GlassworkMetrics.clientMeshEvicts();
+
+                            long poolHits    = GlassworkMetrics.clientPoolHits();
+                            long poolMisses  = GlassworkMetrics.clientPoolMisses();
+                            long poolTrimmed = GlassworkMetrics.clientPoolTrimmedBytes();
+                            long poolBytes   = NativeBufferPool.pooledBytes();
+
                             src.sendFeedback(Component.literal("§b[Glasswork] Client Stats"));
                             src.sendFeedback(Component.literal("  §7Sections with quads: §f" + sections));
-                            src.sendFeedback(Component.literal("  §7Total persistent quads: §f" + totalQuads));
-                            src.sendFeedback(Component.literal("  §7Frame submits: §f" + submits + "  §7drains: §f" + drains));
-                            src.sendFeedback(Component.literal("  §7Uploads triggered: §f" + uploads));
+                            src.sendFeedback(Component.literal("  §7Total persistent quads: §f" + totalQuads
+                                    + "  §7shader-tiled: §f" + tiledQuads));
+                            src.sendFeedback(Component.literal("  §7Frame submits: §f" + submits + "  §7drains: §f" + drains
+                                    + " §7(" + GlassworkMetrics.clientFrameQuadsDrained() + " quads)"));
+                            src.sendFeedback(Component.literal("  §7Uploads triggered: §f" + uploads + "  §7resorts: §f" + resorts
+                                    + "  §7attribute patches: §f" + GlassworkMetrics.clientAttributePatches()
+                                    + " §7(" + GlassworkMetrics.clientAttributePatchBytes() + " B)"
+                                    + "  §7unchanged puts skipped: §f" + GlassworkMetrics.clientDedupSkips()));
+                            src.sendFeedback(Component.literal("  §7Upload queue: §f" + UploadScheduler.queueDepth()
+                                    + " §7deferred total=" + GlassworkMetrics.clientUploadsDeferred()
+                                    + " §7versions coalesced=" + GlassworkMetrics.clientVersionsCoalesced()
+                                    + " §7budget=" + (GlassworkConfig.uploadBudgetBytes() / 1024) + " KiB/"
+                                    + (GlassworkConfig.uploadBudgetNanos() / 1_000_000.0) + " ms"));
                             src.sendFeedback(Component.literal("  §7Meshes: §fstores=" + meshStores
                                     + " §7replaces=" + meshReplaces
                                     + " §7merges=" + meshMerges
-                                    + " §7removes=" + meshRemoves));
+                                    + " §7removes=" + meshRemoves
+                                    + " §7(" + GlassworkMetrics.clientMeshRemovedBytes() + " B)"));
                             src.sendFeedback(Component.literal("  §7Mesh bytes: §fin=" + meshBytesIn
                                     + " §7out=" + meshBytesOut
                                     + " §7errors=" + meshErrors));
+                            src.sendFeedback(Component.literal("  §7Captured meshes: §flive=" + liveBytes
+                                    + " §7evicted=" + evictedBytes
+                                    + " §7budget=" + budgetBytes
+                                    + " §7evictions=" + evicts));
+                            src.sendFeedback(Component.literal("  §7Buffer pool: §fhits=" + poolHits
+                                    + " §7misses=" + poolMisses
+                                    + " §7pooled=" + poolBytes
+                                    + " §7trimmed=" + poolTrimmed));
                             return 1;
                         }))
 
                         // ---------- put block ----------
-                        // /gwc put block <block_id> <lower> <upper> [tint=#AARRGGBB] [light=15728880] [opacity=1.0] [uv=tile|stretch] [face=north]
+                        // /gwc put block <block_id> <lower> <upper> [tint=#AARRGGBB] [light=15728880] [opacity=1.0] [uv=tile|tile_shader|stretch] [face=north]
                         .then(ClientCommandManager.literal("put")
                                 .then(ClientCommandManager.literal("block")
                                         .then(ClientCommandManager.argument("block_id", StringArgumentType.string())
@@ -235,6 +273,60 @@ public final class GlassworkClientCommands {
                                     src.sendFeedback(Component.literal("§a[Glasswork] Cleared " + before + " quad(s) in your section " + sec + "."));
                                     return 1;
                                 }))
+                                // /gwc clear group <id>
+                                .then(ClientCommandManager.literal("group")
+                                        .then(ClientCommandManager.argument("id", StringArgumentType.string())
+                                                .executes(ctx -> clearGroupCmd(ctx.getSource(), StringArgumentType.getString(ctx, "id")))))
+                        )
+
+                        // ---------- injection mode ----------
+                        // /gwc mode merge|compile
+                        .then(ClientCommandManager.literal("mode")
+                                .executes(ctx -> {
+                                    ctx.getSource().sendFeedback(Component.literal("§b[Glasswork] Injection mode: §f"
+                                            + GlassworkConfig.injectionMode().name().toLowerCase(java.util.Locale.ROOT)));
+                                    return 1;
+                                })
+                                .then(ClientCommandManager.literal("merge").executes(ctx ->
+                                        setModeCmd(ctx.getSource(), GlassworkConfig.InjectionMode.MERGE)))
+                                .then(ClientCommandManager.literal("compile").executes(ctx ->
+                                        setModeCmd(ctx.getSource(), GlassworkConfig.InjectionMode.COMPILE)))
+                        )
+
+                        // ---------- phase profiler ----------
+                        // /gwc profile start [window_frames] | stop | dump
+                        .then(ClientCommandManager.literal("profile")
+                                .then(ClientCommandManager.literal("start")
+                                        .executes(ctx -> profileStartCmd(ctx.getSource(), 60))
+                                        .then(ClientCommandManager.argument("window_frames", integer(1, 100_000))
+                                                .executes(ctx -> profileStartCmd(ctx.getSource(),
+                                                        ctx.getArgument("window_frames", Integer.class)))))
+                                .then(ClientCommandManager.literal("stop").executes(ctx -> {
+                                    GlassworkProfiler.stop();
+                                    ctx.getSource().sendFeedback(Component.literal("§a[Glasswork] Profiler stopped (histograms kept for dump)."));
+                                    return 1;
+                                }))
+                                .then(ClientCommandManager.literal("dump").executes(ctx -> {
+                                    var src = ctx.getSource();
+                                    src.sendFeedback(Component.literal("§b[Glasswork] Phase latencies"));
+                                    for (String line : GlassworkProfiler.dump()) src.sendFeedback(Component.literal("  §7" + line));
+                                    return 1;
+                                }))
+                        )
+
+                        // ---------- native memory ----------
+                        // /gwc mem [leaks <on|off>]
+                        .then(ClientCommandManager.literal("mem")
+                                .executes(ctx -> memCmd(ctx.getSource()))
+                                .then(ClientCommandManager.literal("leaks")
+                                        .then(ClientCommandManager.argument("on", BoolArgumentType.bool())
+                                                .executes(ctx -> {
+                                                    final boolean on = BoolArgumentType.getBool(ctx, "on");
+                                                    GlassworkConfig.setLeakDetection(on);
+                                                    ctx.getSource().sendFeedback(Component.literal("§a[Glasswork] Leak detection "
+                                                            + (on ? "on for new buffers." : "off for new buffers.")));
+                                                    return 1;
+                                                })))
                         )
         );
     }
@@ -243,12 +335,54 @@ public final class GlassworkClientCommands {
        Exec helpers
        =========================== */
 
+    private static int setModeCmd(FabricClientCommandSource src, GlassworkConfig.InjectionMode mode) {
+        if (GlassworkConfig.injectionMode() == mode) {
+            src.sendFeedback(Component.literal("§7[Glasswork] Injection mode already " + mode.name().toLowerCase(java.util.Locale.ROOT)));
+            return 1;
+        }
+        GlassworkConfig.setInjectionMode(mode);
+        SectionContentIndex.recompileAll(); // re-bake or re-capture every section with quads
+        src.sendFeedback(Component.literal("§a[Glasswork] Injection mode set to " + mode.name().toLowerCase(java.util.Locale.ROOT)
+                + " (" + SectionContentIndex.size() + " section(s) recompiling)"));
+        return 1;
+    }
+
+    private static int profileStartCmd(FabricClientCommandSource src, int windowFrames) {
+        GlassworkProfiler.start(windowFrames);
+        src.sendFeedback(Component.literal("§a[Glasswork] Profiler started (window " + windowFrames + " frame(s)); /gwc profile dump to read."));
+        return 1;
+    }
+
+    private static int memCmd(FabricClientCommandSource src) {
+        src.sendFeedback(Component.literal("§b[Glasswork] Native memory: §f" + NativeMemory.totalBytes() + " B"));
+        for (NativeMemory.Owner owner : NativeMemory.Owner.values()) {
+            src.sendFeedback(Component.literal("  §7" + owner.name().toLowerCase(java.util.Locale.ROOT) + ": §f"
+                    + NativeMemory.liveBytes(owner) + " B §7in " + NativeMemory.liveCount(owner) + " buffer(s)"));
+        }
+        src.sendFeedback(Component.literal("  §7pooled: §f" + NativeBufferPool.pooledBytes() + " B"));
+        src.sendFeedback(Component.literal("  §7Leak detection: §f" + (GlassworkConfig.leakDetection() ? "on" : "off")
+                + " §7leaks=" + NativeMemory.leaks() + " (" + NativeMemory.leakedBytes() + " B)"));
+        return 1;
+    }
+
     private static int clearAllQuads() {
-        var keys = new java.util.ArrayList<>(GlassworkAPI._debugSnapshot().keySet());
+        var keys = GlassworkAPI._sections();
         for (var sec : keys) GlassworkAPI.removeAll(sec);
+        for (var group : GlassworkAPI._groups()) GlassworkAPI.clearGroup(group);
         return keys.size();
     }
 
+    private static int clearGroupCmd(FabricClientCommandSource src, String idStr) {
+        ResourceLocation group = ResourceLocation.tryParse(idStr);
+        if (group == null) {
+            src.sendError(Component.literal("§cInvalid group id: " + idStr));
+            return 0;
+        }
+        int sections = GlassworkAPI.clearGroup(group);
+        src.sendFeedback(Component.literal("§a[Glasswork] Cleared group " + group + " in " + sections + " section(s)."));
+        return 1;
+    }
+
     private static int putBlockCmd(FabricClientCommandSource src,
                                    String blockId,
                                    Vec3 lower, Vec3 upper,
@@ -366,6 +500,7 @@ public final class GlassworkClientCommands {
         String k = s.toLowerCase();
         return switch (k) {
             case "stretch", "s" -> UVMode.STRETCH;
+            case "tile_shader", "shader" -> UVMode.TILE_SHADER;
             default -> UVMode.TILE;
         };
     }
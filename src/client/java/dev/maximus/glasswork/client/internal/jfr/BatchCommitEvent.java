@@ -0,0 +1,22 @@
+package dev.maximus.glasswork.client.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Disabled by default, like {@link SectionEvent}. */
+@Name("glasswork.BatchCommit")
+@Label("Batch Commit")
+@Description("Commit of a GlassworkAPI batch: packing outside the lock plus publishing under it.")
+@Category({"Glasswork"})
+@Enabled(false)
+@StackTrace(false)
+public final class BatchCommitEvent extends Event {
+    @Label("Owners") public int owners;
+    @Label("Sections Changed") public int sectionsChanged;
+    @Label("Quads") public int quads;
+}
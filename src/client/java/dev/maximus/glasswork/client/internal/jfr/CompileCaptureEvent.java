@@ -0,0 +1,11 @@
+package dev.maximus.glasswork.client.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("glasswork.CompileCapture")
+@Label("Compile Capture")
+@Description("Copy of vanilla's translucent mesh taken after a section compile (compile workers).")
+public final class CompileCaptureEvent extends SectionEvent {
+}
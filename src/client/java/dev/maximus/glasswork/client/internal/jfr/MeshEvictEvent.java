@@ -0,0 +1,23 @@
+package dev.maximus.glasswork.client.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Disabled by default, like {@link SectionEvent}. */
+@Name("glasswork.MeshEvict")
+@Label("Mesh Eviction")
+@Description("One eviction pass over captured vanilla meshes once they exceed the tracked-memory budget.")
+@Category({"Glasswork"})
+@Enabled(false)
+@StackTrace(false)
+public final class MeshEvictEvent extends Event {
+    @Label("Meshes") public int meshes;
+    @Label("Freed") @DataAmount public long freedBytes;
+    @Label("Live After") @DataAmount public long liveBytes;
+}
@@ -0,0 +1,11 @@
+package dev.maximus.glasswork.client.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("glasswork.MeshMerge")
+@Label("Mesh Merge")
+@Description("Merge of a section's injected mesh with its captured vanilla translucent mesh (build workers).")
+public final class MeshMergeEvent extends SectionEvent {
+}
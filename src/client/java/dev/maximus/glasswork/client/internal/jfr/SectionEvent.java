@@ -0,0 +1,33 @@
+package dev.maximus.glasswork.client.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import net.minecraft.core.SectionPos;
+
+/**
+ * Base of Glasswork's Java Flight Recorder events: the section a piece of work was for, plus its quad count and
+ * bytes. Every event is disabled by default; enable them in the recording's settings, e.g.
+ * {@code -XX:StartFlightRecording:+glasswork.SectionUpload#enabled=true}. A disabled event is never committed and its
+ * object is scalar-replaced by the JIT, so instrumented paths cost nothing while JFR is off.
+ */
+@Category({"Glasswork"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class SectionEvent extends Event {
+    @Label("Section X") public int sectionX;
+    @Label("Section Y") public int sectionY;
+    @Label("Section Z") public int sectionZ;
+    @Label("Quads") public int quads;
+    @Label("Bytes") @DataAmount public long bytes;
+
+    /** Set the section from its {@link SectionPos#asLong()} key. */
+    public void section(long key) {
+        sectionX = SectionPos.x(key);
+        sectionY = SectionPos.y(key);
+        sectionZ = SectionPos.z(key);
+    }
+}
@@ -0,0 +1,11 @@
+package dev.maximus.glasswork.client.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("glasswork.SectionUpload")
+@Label("Section Upload")
+@Description("Sort and upload of a section's merged translucent mesh into its VBO (render thread).")
+public final class SectionUploadEvent extends SectionEvent {
+}
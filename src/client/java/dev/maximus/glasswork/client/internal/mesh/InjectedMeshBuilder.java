@@ -0,0 +1,61 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexFormat;
+
+/**
+ * Turns a section's {@link PackedQuads} into a section-local {@link MeshData}.
+ * <p>For the section format ({@link DefaultVertexFormat#BLOCK}, quads) the packed data already is the vertex buffer and
+ * is copied in one go; any other format goes through a {@link BufferBuilder}.</p>
+ * <p>The returned {@link TranslucentMeshStore.TrackedMesh} owns its native buffer; the caller must close it.</p>
+ */
+public final class InjectedMeshBuilder {
+    private InjectedMeshBuilder() {}
+
+    /**
+     * Build a mesh for {@code quads} (packed for {@code section}).
+     * Throws if no vertex was written (callers only build for non-empty snapshots).
+     */
+    public static TranslucentMeshStore.TrackedMesh build(PackedQuads quads, long section,
+                                                         VertexFormat fmt, VertexFormat.Mode mode) {
+        if (quads.isEmpty()) throw new IllegalStateException("no injected quads for section " + section);
+        final boolean raw = fmt == DefaultVertexFormat.BLOCK && mode == VertexFormat.Mode.QUADS;
+        final int bytes = raw ? quads.byteSize() : Math.max(1024, quads.vertexCount() * fmt.getVertexSize());
+        final int sizeClass = NativeBufferPool.sizeClass(bytes);
+        final ByteBufferBuilder backing = NativeBufferPool.acquire(bytes, sizeClass);
+        try {
+            final MeshData mesh = raw ? copy(backing, quads) : encode(backing, quads, fmt, mode);
+            return new TranslucentMeshStore.TrackedMesh(NativeMemory.Owner.INJECTED, mesh, backing, sizeClass);
+        } catch (Throwable t) {
+            NativeBufferPool.release(backing, sizeClass);
+            throw t;
+        }
+    }
+
+    /**
+     * Write {@code quads} into an open {@link BufferBuilder}
+     * (used to emit straight into vanilla's translucent layer at compile time).
+     */
+    public static void emit(BufferBuilder builder, PackedQuads quads) {
+        quads.emit(builder);
+    }
+
+    /** Bulk path: the packed ints are byte-for-byte the BLOCK vertex buffer. */
+    private static MeshData copy(ByteBufferBuilder backing, PackedQuads quads) {
+        quads.copyTo(backing.reserve(quads.byteSize()));
+        final ByteBufferBuilder.Result vertices = backing.build();
+        if (vertices == null) throw new IllegalStateException("empty vertex buffer");
+        final int count = quads.vertexCount();
+        return new MeshData(vertices, new MeshData.DrawState(DefaultVertexFormat.BLOCK, count,
+                VertexFormat.Mode.QUADS.indexCount(count), VertexFormat.Mode.QUADS, VertexFormat.IndexType.least(count)));
+    }
+
+    private static MeshData encode(ByteBufferBuilder backing, PackedQuads quads, VertexFormat fmt, VertexFormat.Mode mode) {
+        final BufferBuilder builder = new BufferBuilder(backing, mode, fmt);
+        quads.emit(builder);
+        return builder.buildOrThrow();
+    }
+}
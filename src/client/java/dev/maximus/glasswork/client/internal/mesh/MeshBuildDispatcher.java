@@ -0,0 +1,154 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.util.ConcurrentLong2ObjectMap;
+import dev.maximus.glasswork.util.Log;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds injected section meshes on a small background pool, in the spirit of vanilla's compile tasks.
+ * <p>The render thread {@link #request requests} a build for a section generation and later {@link #take takes} the
+ * finished, merged mesh to sort and upload. At most one build per section is live; a request for a newer generation
+ * cancels the older one and frees its result.</p>
+ */
+public final class MeshBuildDispatcher {
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            GlassworkConfig.builderThreads(),
+            r -> {
+                final Thread t = new Thread(r, "Glasswork Mesh Builder #" + THREAD_ID.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            });
+
+    private static final ConcurrentLong2ObjectMap<Job> JOBS = new ConcurrentLong2ObjectMap<>();
+
+    private MeshBuildDispatcher() {}
+
+    /**
+     * A finished build: the merged mesh (owned by the taker, close it) plus what its injected part was built from.
+     *
+     * @param injectedVertices vertices of the injected mesh at the end of {@code mesh}, or -1 if unknown
+     */
+    public record Built(TranslucentMeshStore.TrackedMesh mesh, PackedQuads quads, int injectedVertices)
+            implements AutoCloseable {
+        @Override public void close() {
+            mesh.close();
+        }
+    }
+
+    /**
+     * Ensure a build of {@code quads} at {@code version} is queued or finished for {@code section}
+     * ({@link SectionPos#asLong()}).
+     * Render thread only.
+     *
+     * @return true if a finished mesh for {@code version} is ready to {@link #take}
+     */
+    public static boolean request(long section, int version, PackedQuads quads, SectionMeshCache.Entry entry) {
+        final Job job = JOBS.get(section);
+        if (job != null && job.version == version) return job.future.isDone();
+        if (job != null) job.cancel();
+
+        final Job fresh = new Job(version, quads);
+        JOBS.put(section, fresh);
+        fresh.future = CompletableFuture.supplyAsync(() -> fresh.run(section, entry), POOL);
+        fresh.future.whenComplete((mesh, err) -> {
+            if (err != null) Log.e(err, "[meshBuild] build failed @%s v=%d", SectionPos.of(section), version);
+            else if (fresh.cancelled && mesh != null) mesh.close();
+        });
+        if (Log.isTraceEnabled()) {
+            Log.t("[meshBuild.request] queued @{} v={} quads={}", SectionPos.of(section), version, quads.size());
+        }
+        return false;
+    }
+
+    /**
+     * Take the finished build for {@code version}, or null if none is ready (still building, failed or stale).
+     * The caller owns the returned mesh and must close it. Render thread only.
+     */
+    public static @Nullable Built take(long section, int version) {
+        final Job job = JOBS.get(section);
+        if (job == null || job.version != version || !job.future.isDone()) return null;
+        JOBS.remove(section, job);
+        final TranslucentMeshStore.TrackedMesh mesh = job.future.isCompletedExceptionally() ? null : job.future.getNow(null);
+        return (mesh != null) ? new Built(mesh, job.quads, job.injectedVertices) : null;
+    }
+
+    /** Vertex bytes of the finished mesh for {@code version} (see {@link #take}), or 0 if none is ready. */
+    public static int readyBytes(long section, int version) {
+        final Job job = JOBS.get(section);
+        if (job == null || job.version != version || !job.future.isDone() || job.future.isCompletedExceptionally()) return 0;
+        final TranslucentMeshStore.TrackedMesh mesh = job.future.getNow(null);
+        return (mesh != null) ? mesh.bytes() : 0;
+    }
+
+    /** Cancel any build for {@code section}. */
+    public static void cancel(long section) {
+        final Job job = JOBS.remove(section);
+        if (job != null) job.cancel();
+    }
+
+    /** Cancel every pending build and free finished, untaken results. */
+    public static void clearAll() {
+        int count = 0;
+        for (Job job : JOBS.drain()) {
+            job.cancel();
+            count++;
+        }
+        Log.d("[meshBuild.clearAll] cancelled {} job(s)", count);
+    }
+
+    public static int pending() {
+        return JOBS.size();
+    }
+
+    private static final class Job {
+        final int version;
+        final PackedQuads quads;
+        volatile boolean cancelled;
+        /** Vertex count of the injected mesh this job merged; written by the worker before the future completes. */
+        volatile int injectedVertices = -1;
+        CompletableFuture<TranslucentMeshStore.TrackedMesh> future;
+
+        Job(int version, PackedQuads quads) {
+            this.version = version;
+            this.quads = quads;
+        }
+
+        /**
+         * Worker: encode (cached per snapshot) and merge with the tracked vanilla mesh. The injected mesh is retained
+         * across the merge: a newer job or a dropped entry may replace it in the entry meanwhile.
+         */
+        @Nullable TranslucentMeshStore.TrackedMesh run(long section, SectionMeshCache.Entry entry) {
+            if (cancelled) return null;
+            final TranslucentMeshStore.TrackedMesh[] held = new TranslucentMeshStore.TrackedMesh[1];
+            try {
+                return TranslucentMeshStore.mergeWithTracked(section, (fmt, mode) -> {
+                    final TranslucentMeshStore.TrackedMesh injected = entry.injected(quads, section, fmt, mode);
+                    held[0] = injected;
+                    if (injected == null || cancelled) return null;
+                    injectedVertices = injected.mesh().drawState().vertexCount();
+                    return injected.mesh();
+                });
+            } finally {
+                if (held[0] != null) held[0].release();
+            }
+        }
+
+        /** Mark cancelled; frees the result now if it already finished, otherwise on completion. */
+        void cancel() {
+            cancelled = true;
+            if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+                final TranslucentMeshStore.TrackedMesh mesh = future.getNow(null);
+                if (mesh != null) mesh.close();
+            }
+        }
+    }
+}
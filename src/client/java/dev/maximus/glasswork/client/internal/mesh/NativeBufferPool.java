@@ -0,0 +1,142 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.util.Log;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-classed pool of {@link ByteBufferBuilder}s backing {@link TranslucentMeshStore.TrackedMesh}es, so stores,
+ * merges and injected builds reuse native blocks instead of malloc/free-ing one per compile.
+ * <p>Classes are powers of two from 4 KiB to 4 MiB; larger requests bypass the pool. Released builders are
+ * {@link ByteBufferBuilder#discard() discarded} (invalidating stale results) and kept LIFO per class, up to
+ * {@link GlassworkConfig#poolMaxBytes()} in total. Builders idle for a while are freed by {@link #tick()}, and
+ * everything is freed at once on allocation failure or {@link #trimAll()}.</p>
+ * <p>Thread-safe: used from compile threads, mesh builders and the render thread.</p>
+ */
+public final class NativeBufferPool {
+    /** Size class of builders that are not pooled. */
+    public static final int UNPOOLED = -1;
+
+    private static final int MIN_SHIFT = 12; // 4 KiB
+    private static final int MAX_SHIFT = 22; // 4 MiB
+    private static final int CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int TRIM_INTERVAL_TICKS = 100;
+
+    @SuppressWarnings("unchecked")
+    private static final ConcurrentLinkedDeque<Slab>[] FREE = new ConcurrentLinkedDeque[CLASSES];
+    private static final AtomicLong POOLED_BYTES = new AtomicLong();
+    private static int ticks;
+
+    static {
+        for (int i = 0; i < CLASSES; i++) FREE[i] = new ConcurrentLinkedDeque<>();
+    }
+
+    private NativeBufferPool() {}
+
+    /** Size class able to hold {@code bytes}, or {@link #UNPOOLED} if too large. */
+    public static int sizeClass(int bytes) {
+        final int shift = Math.max(MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(1, bytes) - 1));
+        return (shift > MAX_SHIFT) ? UNPOOLED : shift - MIN_SHIFT;
+    }
+
+    private static int classBytes(int sizeClass) {
+        return 1 << (sizeClass + MIN_SHIFT);
+    }
+
+    /**
+     * A builder with room for at least {@code bytes} in size class {@code sizeClass} (from {@link #sizeClass}).
+     * Hand it back with {@link #release} using the same class.
+     */
+    public static ByteBufferBuilder acquire(int bytes, int sizeClass) {
+        if (sizeClass == UNPOOLED) {
+            GlassworkMetrics.recordClientPoolMiss();
+            return allocate(bytes);
+        }
+        final Slab slab = FREE[sizeClass].pollFirst();
+        if (slab != null) {
+            POOLED_BYTES.addAndGet(-classBytes(sizeClass));
+            GlassworkMetrics.recordClientPoolHit();
+            return slab.builder;
+        }
+        GlassworkMetrics.recordClientPoolMiss();
+        return allocate(classBytes(sizeClass));
+    }
+
+    /** Return a builder obtained from {@link #acquire}; frees it if the pool is full or it is unpooled. */
+    public static void release(ByteBufferBuilder builder, int sizeClass) {
+        if (builder == null) return;
+        if (sizeClass == UNPOOLED) {
+            builder.close();
+            return;
+        }
+        final int bytes = classBytes(sizeClass);
+        if (POOLED_BYTES.addAndGet(bytes) > GlassworkConfig.poolMaxBytes()) {
+            POOLED_BYTES.addAndGet(-bytes);
+            builder.close();
+            return;
+        }
+        try {
+            builder.discard(); // invalidate any result still pointing into it
+        } catch (Throwable t) {
+            POOLED_BYTES.addAndGet(-bytes);
+            builder.close();
+            Log.d("[pool.release] discard failed, freed instead: {}", t.getMessage());
+            return;
+        }
+        FREE[sizeClass].offerFirst(new Slab(builder, System.nanoTime()));
+    }
+
+    /** Periodic upkeep (client tick): free builders idle for longer than the idle window. */
+    public static void tick() {
+        if (++ticks < TRIM_INTERVAL_TICKS) return;
+        ticks = 0;
+        trim(System.nanoTime() - IDLE_NANOS);
+    }
+
+    /** Free every pooled builder (memory pressure, world change). */
+    public static void trimAll() {
+        trim(Long.MAX_VALUE);
+    }
+
+    private static void trim(long idleBefore) {
+        long freed = 0;
+        for (int c = 0; c < CLASSES; c++) {
+            final ConcurrentLinkedDeque<Slab> q = FREE[c];
+            Slab s;
+            // oldest slabs sit at the tail
+            while ((s = q.peekLast()) != null && s.idleSince <= idleBefore) {
+                if (!q.removeLastOccurrence(s)) continue;
+                POOLED_BYTES.addAndGet(-classBytes(c));
+                freed += classBytes(c);
+                s.builder.close();
+            }
+        }
+        if (freed > 0) {
+            GlassworkMetrics.recordClientPoolTrim(freed);
+            Log.d("[pool.trim] freed {} B, pooled={} B", freed, POOLED_BYTES.get());
+        }
+    }
+
+    /** Bytes currently parked in the pool. */
+    public static long pooledBytes() {
+        return POOLED_BYTES.get();
+    }
+
+    private static ByteBufferBuilder allocate(int bytes) {
+        try {
+            return new ByteBufferBuilder(bytes);
+        } catch (OutOfMemoryError e) {
+            Log.w("[pool.allocate] native allocation of {} B failed -> trimming pool and retrying", bytes);
+            trimAll();
+            return new ByteBufferBuilder(bytes);
+        }
+    }
+
+    private record Slab(ByteBufferBuilder builder, long idleSince) {}
+}
@@ -0,0 +1,157 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.client.internal.mixin.ByteBufferBuilderAccessor;
+import dev.maximus.glasswork.client.internal.render.FrameQuadRenderer;
+import dev.maximus.glasswork.client.internal.render.TiledQuadRenderer;
+import dev.maximus.glasswork.util.Log;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live native bytes Glasswork holds in {@link ByteBufferBuilder}s, by {@link Owner}.
+ * <p>Each {@link TranslucentMeshStore.TrackedMesh} takes an {@link Allocation} for its builder's capacity when it is
+ * created and frees it when its last reference is released (the builder then goes back to the
+ * {@link NativeBufferPool} or is freed). Pooled builders and the renderers' reused scratch builders are read when
+ * asked for. Bytes are builder capacity, i.e. what was malloc'd, not vertex bytes in use.</p>
+ * <p>With {@link GlassworkConfig#leakDetection()} on, new allocations also record their stack and register with a
+ * {@link Cleaner}: a mesh that is collected before its last reference was released is logged once with that stack
+ * and its bytes move from live to leaked. The leaked builder is not freed, since a {@code MeshData} borrowed from the
+ * mesh may still point into it.</p>
+ * <p>Thread-safe.</p>
+ */
+public final class NativeMemory {
+    public enum Owner {
+        /** Copies of vanilla's translucent meshes kept in {@link TranslucentMeshStore}. */
+        TRACKED,
+        /** Merged meshes (and copies standing in for them) on their way to a section VBO. */
+        MERGED,
+        /** Injected meshes encoded from packed quads. */
+        INJECTED,
+        /** Reused scratch builders of the frame and tiled renderers. */
+        FRAME
+    }
+
+    private static final Owner[] OWNERS = Owner.values();
+    private static final AtomicLong[] LIVE_BYTES = new AtomicLong[OWNERS.length];
+    private static final AtomicLong[] LIVE_COUNT = new AtomicLong[OWNERS.length];
+    static {
+        for (int i = 0; i < OWNERS.length; i++) {
+            LIVE_BYTES[i] = new AtomicLong();
+            LIVE_COUNT[i] = new AtomicLong();
+        }
+    }
+    private static final LongAdder LEAKS = new LongAdder();
+    private static final LongAdder LEAKED_BYTES = new LongAdder();
+
+    private NativeMemory() {}
+
+    /**
+     * Account {@code builder}'s capacity to {@code owner} until the returned allocation is {@link Allocation#free()
+     * freed}. {@code holder} is the object whose collection without a free counts as a leak; the returned allocation
+     * must not be reachable only through state the cleaner keeps.
+     */
+    public static Allocation allocate(Object holder, Owner owner, @Nullable ByteBufferBuilder builder) {
+        final long bytes = capacity(builder);
+        LIVE_BYTES[owner.ordinal()].addAndGet(bytes);
+        LIVE_COUNT[owner.ordinal()].incrementAndGet();
+        if (!GlassworkConfig.leakDetection()) return new Allocation(owner, bytes, null, null);
+        final Watch watch = new Watch(owner, bytes, new Throwable("allocation site"));
+        return new Allocation(owner, bytes, watch, Watchers.CLEANER.register(holder, watch));
+    }
+
+    /** Capacity of {@code builder} in bytes, 0 for null or a freed builder. */
+    public static long capacity(@Nullable ByteBufferBuilder builder) {
+        return builder == null ? 0 : Math.max(0, ((ByteBufferBuilderAccessor) builder).getCapacity());
+    }
+
+    /** Live bytes held by {@code owner}. */
+    public static long liveBytes(Owner owner) {
+        if (owner == Owner.FRAME) return FrameQuadRenderer.scratchBytes() + TiledQuadRenderer.scratchBytes();
+        return LIVE_BYTES[owner.ordinal()].get();
+    }
+
+    /** Live buffers held by {@code owner}. */
+    public static long liveCount(Owner owner) {
+        if (owner == Owner.FRAME) {
+            return (FrameQuadRenderer.scratchBytes() > 0 ? 1 : 0) + (TiledQuadRenderer.scratchBytes() > 0 ? 1 : 0);
+        }
+        return LIVE_COUNT[owner.ordinal()].get();
+    }
+
+    /** Every owner plus builders parked in the pool. */
+    public static long totalBytes() {
+        long total = NativeBufferPool.pooledBytes();
+        for (Owner o : OWNERS) total += liveBytes(o);
+        return total;
+    }
+
+    /** Meshes collected without being released (leak detection only). */
+    public static long leaks() {
+        return LEAKS.sum();
+    }
+
+    /** Bytes of those meshes; never freed. */
+    public static long leakedBytes() {
+        return LEAKED_BYTES.sum();
+    }
+
+    /** One allocation's accounting; {@link #free()} exactly once. */
+    public static final class Allocation {
+        private final Owner owner;
+        private final long bytes;
+        private final @Nullable Watch watch;
+        private final @Nullable Cleaner.Cleanable cleanable;
+
+        private Allocation(Owner owner, long bytes, @Nullable Watch watch, @Nullable Cleaner.Cleanable cleanable) {
+            this.owner = owner;
+            this.bytes = bytes;
+            this.watch = watch;
+            this.cleanable = cleanable;
+        }
+
+        public long bytes() { return bytes; }
+
+        public void free() {
+            if (watch != null) {
+                watch.freed = true;
+                cleanable.clean(); // unregister; the watch sees the flag and stays quiet
+            }
+            LIVE_BYTES[owner.ordinal()].addAndGet(-bytes);
+            LIVE_COUNT[owner.ordinal()].decrementAndGet();
+        }
+    }
+
+    /** Cleaner action; must not reference the holder. */
+    private static final class Watch implements Runnable {
+        private final Owner owner;
+        private final long bytes;
+        private final Throwable site;
+        private volatile boolean freed;
+
+        Watch(Owner owner, long bytes, Throwable site) {
+            this.owner = owner;
+            this.bytes = bytes;
+            this.site = site;
+        }
+
+        @Override
+        public void run() {
+            if (freed) return;
+            LIVE_BYTES[owner.ordinal()].addAndGet(-bytes);
+            LIVE_COUNT[owner.ordinal()].decrementAndGet();
+            LEAKS.increment();
+            LEAKED_BYTES.add(bytes);
+            Log.e(site, "[mem.leak] %s buffer of %s B was collected without being released", owner, bytes);
+        }
+    }
+
+    /** Holder so the cleaner thread only starts once leak detection is first used. */
+    private static final class Watchers {
+        static final Cleaner CLEANER = Cleaner.create();
+    }
+}
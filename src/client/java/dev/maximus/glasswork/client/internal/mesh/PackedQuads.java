@@ -0,0 +1,343 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import dev.maximus.glasswork.api.InjectedQuad;
+import dev.maximus.glasswork.api.QuadVertex;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Immutable, packed storage for one section's persistent quads: a single {@code int[]} in the exact memory layout of
+ * {@link com.mojang.blaze3d.vertex.DefaultVertexFormat#BLOCK} (32 bytes per vertex), with positions already relative
+ * to the section origin. Building a section mesh is then one bulk copy (see {@link #copyTo}).
+ * <p>Per vertex (ints): {@code x, y, z} (float bits), color (RGBA bytes), {@code u, v} (float bits), packed light,
+ * normal (XYZ bytes + pad). {@link InjectedQuad}/{@link QuadVertex} stay the public façade: {@link #pack} encodes them
+ * and {@link #asList} decodes on access. Decoding is lossy where the vertex format is: normals are byte-quantized and
+ * the overlay (not part of the section format) reads back as {@link OverlayTexture#NO_OVERLAY}.</p>
+ * <p>Quads built from an atlas sprite carry a {@link SpriteRef} so their UVs can follow the sprite through a
+ * restitch ({@link #remapSprites}).</p>
+ */
+public final class PackedQuads {
+    public static final int INTS_PER_VERTEX = 8;
+    public static final int INTS_PER_QUAD = 4 * INTS_PER_VERTEX;
+    public static final int BYTES_PER_VERTEX = INTS_PER_VERTEX * Integer.BYTES;
+
+    public static final PackedQuads EMPTY = new PackedQuads(new int[0], null);
+
+    private static final int X = 0, Y = 1, Z = 2, COLOR = 3, U = 4, V = 5, LIGHT = 6, NORMAL = 7;
+
+    /** {@link #withAttributes} mask bits. */
+    public static final int PATCH_RGB = 1, PATCH_ALPHA = 2, PATCH_LIGHT = 4;
+
+    private final int[] data;
+    /** Per quad, null entries for untextured quads; null if no quad has one. */
+    private final @Nullable SpriteRef[] sprites;
+    /** {@link #contentHash()} once computed, 0 before (a racy recompute is harmless, as for {@code String}). */
+    private int hash;
+
+    private PackedQuads(int[] data, @Nullable SpriteRef[] sprites) {
+        this.data = data;
+        this.sprites = sprites;
+    }
+
+    /**
+     * Pack world-space {@code quads} relative to the origin of {@code section} ({@link SectionPos#asLong()}).
+     * Null quads and quads with a null vertex are skipped.
+     */
+    public static PackedQuads pack(long section, Collection<InjectedQuad> quads) {
+        if (quads == null || quads.isEmpty()) return EMPTY;
+        final float ox = SectionPos.sectionToBlockCoord(SectionPos.x(section));
+        final float oy = SectionPos.sectionToBlockCoord(SectionPos.y(section));
+        final float oz = SectionPos.sectionToBlockCoord(SectionPos.z(section));
+
+        int[] out = new int[quads.size() * INTS_PER_QUAD];
+        int i = 0;
+        for (InjectedQuad q : quads) {
+            if (q == null || q.v1() == null || q.v2() == null || q.v3() == null || q.v4() == null) continue;
+            putVertex(out, i, q.v1(), ox, oy, oz);
+            putVertex(out, i + INTS_PER_VERTEX, q.v2(), ox, oy, oz);
+            putVertex(out, i + 2 * INTS_PER_VERTEX, q.v3(), ox, oy, oz);
+            putVertex(out, i + 3 * INTS_PER_VERTEX, q.v4(), ox, oy, oz);
+            i += INTS_PER_QUAD;
+        }
+        if (i == 0) return EMPTY;
+        if (i != out.length) out = Arrays.copyOf(out, i);
+        return new PackedQuads(out, null);
+    }
+
+    /** {@code a} followed by {@code b} (both packed for the same section). */
+    public static PackedQuads concat(PackedQuads a, PackedQuads b) {
+        if (a.isEmpty()) return b;
+        if (b.isEmpty()) return a;
+        final int[] out = Arrays.copyOf(a.data, a.data.length + b.data.length);
+        System.arraycopy(b.data, 0, out, a.data.length, b.data.length);
+        return new PackedQuads(out, SpriteRef.concat(a.sprites, a.size(), b.sprites, b.size()));
+    }
+
+    /**
+     * Copy with the masked attributes of quads {@code [from, to)} overwritten: RGB and/or alpha from {@code argb},
+     * packed {@code light}. Positions are untouched, so the copy has the same geometry (no re-sort needed).
+     */
+    public PackedQuads withAttributes(int from, int to, int mask, int argb, int light) {
+        final int[] out = data.clone();
+        patch(out, from * INTS_PER_QUAD, to * INTS_PER_QUAD, mask, argb, light);
+        return new PackedQuads(out, sprites);
+    }
+
+    /** Apply an attribute patch to vertex data in the packed layout, ints {@code [from, to)}. */
+    static void patch(int[] data, int from, int to, int mask, int argb, int light) {
+        final int abgr = swapRedBlue(argb);
+        for (int i = from; i < to; i += INTS_PER_VERTEX) {
+            if ((mask & PATCH_RGB) != 0) data[i + COLOR] = (data[i + COLOR] & 0xFF000000) | (abgr & 0x00FFFFFF);
+            if ((mask & PATCH_ALPHA) != 0) data[i + COLOR] = (data[i + COLOR] & 0x00FFFFFF) | (abgr & 0xFF000000);
+            if ((mask & PATCH_LIGHT) != 0) data[i + LIGHT] = light;
+        }
+    }
+
+    /** Bulk-copy quads {@code [from, to)} (BLOCK layout) to native memory at {@code address}. */
+    public void copyRangeTo(int from, int to, long address) {
+        final int start = from * INTS_PER_QUAD, len = (to - from) * INTS_PER_QUAD;
+        MemoryUtil.memIntBuffer(address, len).put(data, start, len);
+    }
+
+    /** Take ownership of {@code data} (whole quads, packed layout, no sprite tags). */
+    static PackedQuads wrap(int[] data) {
+        return (data.length == 0) ? EMPTY : new PackedQuads(data, null);
+    }
+
+    /** Copy quad {@code index}'s vertex data into {@code dst} at {@code offset}. */
+    void copyQuad(int index, int[] dst, int offset) {
+        System.arraycopy(data, index * INTS_PER_QUAD, dst, offset, INTS_PER_QUAD);
+    }
+
+    /** The same quads, all tagged as textured with {@code sprite} (vertex data is shared). */
+    public PackedQuads withSprite(SpriteRef sprite) {
+        if (isEmpty()) return this;
+        final SpriteRef[] refs = new SpriteRef[size()];
+        Arrays.fill(refs, sprite);
+        return new PackedQuads(data, refs);
+    }
+
+    /**
+     * Move the UVs of sprite-textured quads to where their sprites now sit in {@code atlas} (after a restitch).
+     * Returns {@code this} if no sprite moved, so unchanged sections keep their identity and are not rebuilt.
+     */
+    public PackedQuads remapSprites(Function<ResourceLocation, TextureAtlasSprite> atlas) {
+        if (sprites == null) return this;
+        final HashMap<SpriteRef, SpriteRef> current = new HashMap<>();
+        int[] out = null;
+        SpriteRef[] refs = null;
+        for (int q = 0; q < sprites.length; q++) {
+            final SpriteRef from = sprites[q];
+            if (from == null) continue;
+            final SpriteRef to = current.computeIfAbsent(from, r -> SpriteRef.of(atlas.apply(r.name())));
+            if (to.equals(from)) continue;
+            if (out == null) {
+                out = data.clone();
+                refs = sprites.clone();
+            }
+            for (int i = q * INTS_PER_QUAD, end = i + INTS_PER_QUAD; i < end; i += INTS_PER_VERTEX) {
+                out[i + U] = Float.floatToRawIntBits(from.remapU(Float.intBitsToFloat(out[i + U]), to));
+                out[i + V] = Float.floatToRawIntBits(from.remapV(Float.intBitsToFloat(out[i + V]), to));
+            }
+            refs[q] = to;
+        }
+        return (out != null) ? new PackedQuads(out, refs) : this;
+    }
+
+    public int size()        { return data.length / INTS_PER_QUAD; }
+    public boolean isEmpty() { return data.length == 0; }
+    public int vertexCount() { return data.length / INTS_PER_VERTEX; }
+    public int byteSize()    { return data.length * Integer.BYTES; }
+
+    /**
+     * Hash of the vertex data, computed on first use and cached with the (immutable) snapshot, so comparing a new
+     * submission against what is published costs one pass over the new data.
+     */
+    public int contentHash() {
+        int h = hash;
+        if (h == 0 && data.length != 0) {
+            h = Arrays.hashCode(data);
+            if (h == 0) h = 1;
+            hash = h;
+        }
+        return h;
+    }
+
+    /** Same vertex data and sprite tags as {@code other}; {@link #contentHash()} rejects most differences first. */
+    public boolean sameContent(PackedQuads other) {
+        if (this == other) return true;
+        if (data.length != other.data.length || contentHash() != other.contentHash()) return false;
+        return Arrays.equals(data, other.data) && Arrays.equals(sprites, other.sprites);
+    }
+
+    /** Bulk-copy the vertex data (BLOCK layout, section-local) to native memory at {@code address}. */
+    public void copyTo(long address) {
+        MemoryUtil.memIntBuffer(address, data.length).put(data, 0, data.length);
+    }
+
+    /** Write every vertex through {@code builder} (for builders that are not a raw BLOCK buffer). */
+    public void emit(BufferBuilder builder) {
+        for (int i = 0; i < data.length; i += INTS_PER_VERTEX) {
+            final int n = data[i + NORMAL];
+            builder.addVertex(
+                    Float.intBitsToFloat(data[i + X]), Float.intBitsToFloat(data[i + Y]), Float.intBitsToFloat(data[i + Z]),
+                    swapRedBlue(data[i + COLOR]),
+                    Float.intBitsToFloat(data[i + U]), Float.intBitsToFloat(data[i + V]),
+                    OverlayTexture.NO_OVERLAY, data[i + LIGHT],
+                    unpackNormal(n), unpackNormal(n >> 8), unpackNormal(n >> 16));
+        }
+    }
+
+    /** Read-only world-space view for debugging/commands; decodes on access. */
+    public List<InjectedQuad> asList(long section) {
+        if (isEmpty()) return List.of();
+        final float ox = SectionPos.sectionToBlockCoord(SectionPos.x(section));
+        final float oy = SectionPos.sectionToBlockCoord(SectionPos.y(section));
+        final float oz = SectionPos.sectionToBlockCoord(SectionPos.z(section));
+        return new Facade(ox, oy, oz);
+    }
+
+    private static void putVertex(int[] out, int i, QuadVertex v, float ox, float oy, float oz) {
+        out[i + X] = Float.floatToRawIntBits(v.x() - ox);
+        out[i + Y] = Float.floatToRawIntBits(v.y() - oy);
+        out[i + Z] = Float.floatToRawIntBits(v.z() - oz);
+        out[i + COLOR] = swapRedBlue(v.color()); // ARGB → bytes R,G,B,A (little-endian ABGR)
+        out[i + U] = Float.floatToRawIntBits(v.u());
+        out[i + V] = Float.floatToRawIntBits(v.v());
+        out[i + LIGHT] = v.light();               // block light short, then sky light short
+        out[i + NORMAL] = packNormal(v.nx()) | (packNormal(v.ny()) << 8) | (packNormal(v.nz()) << 16);
+    }
+
+    private QuadVertex getVertex(int i, float ox, float oy, float oz) {
+        final int n = data[i + NORMAL];
+        return new QuadVertex(
+                Float.intBitsToFloat(data[i + X]) + ox,
+                Float.intBitsToFloat(data[i + Y]) + oy,
+                Float.intBitsToFloat(data[i + Z]) + oz,
+                Float.intBitsToFloat(data[i + U]), Float.intBitsToFloat(data[i + V]),
+                swapRedBlue(data[i + COLOR]), data[i + LIGHT], OverlayTexture.NO_OVERLAY,
+                unpackNormal(n), unpackNormal(n >> 8), unpackNormal(n >> 16));
+    }
+
+    /** ARGB ⇄ ABGR. */
+    static int swapRedBlue(int c) {
+        return (c & 0xFF00FF00) | ((c >>> 16) & 0xFF) | ((c & 0xFF) << 16);
+    }
+
+    /** Same quantization as {@code BufferBuilder.normalIntValue}. */
+    static int packNormal(float f) {
+        return ((int) (Mth.clamp(f, -1.0f, 1.0f) * 127.0f)) & 0xFF;
+    }
+
+    private static float unpackNormal(int b) {
+        return ((byte) b) / 127.0f;
+    }
+
+    /**
+     * Growable, reusable staging buffer in the packed layout, for producers that stream vertices instead of building
+     * records (see {@code dev.maximus.glasswork.api.QuadSink}). Positions are taken as given (section-local).
+     * Unset attributes default to white, UV 0, full-bright and an up normal. Not thread-safe.
+     */
+    public static final class Writer {
+        private static final int DEFAULT_NORMAL = packNormal(0f) | (packNormal(1f) << 8) | (packNormal(0f) << 16);
+
+        private int[] data = new int[64 * INTS_PER_QUAD];
+        private int size;
+        private int current = -1;
+
+        /** Forget everything written; the buffer is kept. */
+        public void reset() {
+            size = 0;
+            current = -1;
+        }
+
+        public void vertex(float x, float y, float z) {
+            if (size + INTS_PER_VERTEX > data.length) data = Arrays.copyOf(data, data.length * 2);
+            current = size;
+            size += INTS_PER_VERTEX;
+            data[current + X] = Float.floatToRawIntBits(x);
+            data[current + Y] = Float.floatToRawIntBits(y);
+            data[current + Z] = Float.floatToRawIntBits(z);
+            data[current + COLOR] = -1;
+            data[current + U] = 0;
+            data[current + V] = 0;
+            data[current + LIGHT] = LightTexture.FULL_BRIGHT;
+            data[current + NORMAL] = DEFAULT_NORMAL;
+        }
+
+        public void uv(float u, float v) {
+            final int i = current();
+            data[i + U] = Float.floatToRawIntBits(u);
+            data[i + V] = Float.floatToRawIntBits(v);
+        }
+
+        /** ARGB ({@code 0xAARRGGBB}). */
+        public void color(int argb) {
+            data[current() + COLOR] = swapRedBlue(argb);
+        }
+
+        public void light(int packedLight) {
+            data[current() + LIGHT] = packedLight;
+        }
+
+        public void normal(float nx, float ny, float nz) {
+            data[current() + NORMAL] = packNormal(nx) | (packNormal(ny) << 8) | (packNormal(nz) << 16);
+        }
+
+        public int vertexCount() {
+            return size / INTS_PER_VERTEX;
+        }
+
+        /** {@code base} followed by everything written so far (one array copy); {@code base} itself if nothing was. */
+        public PackedQuads appendTo(PackedQuads base) {
+            if (size == 0) return base;
+            final int[] out = Arrays.copyOf(base.data, base.data.length + size);
+            System.arraycopy(data, 0, out, base.data.length, size);
+            return new PackedQuads(out, SpriteRef.concat(base.sprites, base.size(), null, size / INTS_PER_QUAD));
+        }
+
+        private int current() {
+            if (current < 0) throw new IllegalStateException("no vertex started");
+            return current;
+        }
+    }
+
+    private final class Facade extends AbstractList<InjectedQuad> implements RandomAccess {
+        private final float ox, oy, oz;
+
+        Facade(float ox, float oy, float oz) {
+            this.ox = ox;
+            this.oy = oy;
+            this.oz = oz;
+        }
+
+        @Override public InjectedQuad get(int index) {
+            final int i = index * INTS_PER_QUAD;
+            if (index < 0 || i >= data.length) throw new IndexOutOfBoundsException(index);
+            return new InjectedQuad(
+                    getVertex(i, ox, oy, oz),
+                    getVertex(i + INTS_PER_VERTEX, ox, oy, oz),
+                    getVertex(i + 2 * INTS_PER_VERTEX, ox, oy, oz),
+                    getVertex(i + 3 * INTS_PER_VERTEX, ox, oy, oz));
+        }
+
+        @Override public int size() {
+            return PackedQuads.this.size();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Slot map of individually addressable quads for one section, in the {@link PackedQuads} layout.
+ * <p>Quads sit densely in one {@code int[]}; a handle is a (slot, serial) pair that resolves through the slot table
+ * to the quad's dense position. Add, replace and remove are O(1): removal moves the last quad into the hole and
+ * re-points its slot. Serials come from one global 32-bit counter and are not reused before it wraps, so a handle to
+ * a removed quad (or to a section cleared since) does not match a newer one. {@link #snapshot()} is cached until the
+ * next change.</p>
+ * <p>Not thread-safe; the owner serializes access.</p>
+ */
+public final class QuadSlots {
+    private static final int INTS = PackedQuads.INTS_PER_QUAD;
+    /** 0 marks a free slot; never handed out. */
+    private static final AtomicInteger SERIALS = new AtomicInteger(1);
+
+    private int[] data = new int[4 * INTS];
+    /** Dense index → slot. */
+    private int[] denseSlot = new int[4];
+    /** Slot → dense index, or the next free slot while free. */
+    private int[] slotDense = new int[4];
+    /** Slot → serial of the quad in it, 0 while free. */
+    private int[] slotSerial = new int[4];
+    private int slots;
+    private int freeHead = -1;
+    private int size;
+    private @Nullable PackedQuads snapshot = PackedQuads.EMPTY;
+
+    public int size()        { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Store {@code quad} (exactly one packed quad) and return its handle as {@code slot << 32 | serial}.
+     */
+    public long add(PackedQuads quad) {
+        final int slot = allocSlot();
+        if (size == denseSlot.length) {
+            denseSlot = Arrays.copyOf(denseSlot, size * 2);
+            data = Arrays.copyOf(data, size * 2 * INTS);
+        }
+        int serial;
+        while ((serial = SERIALS.getAndIncrement()) == 0) { /* skip the free marker on wrap-around */ }
+        quad.copyQuad(0, data, size * INTS);
+        denseSlot[size] = slot;
+        slotDense[slot] = size;
+        slotSerial[slot] = serial;
+        size++;
+        snapshot = null;
+        return ((long) slot << 32) | (serial & 0xffffffffL);
+    }
+
+    /** Replace the quad behind a handle; false if the handle is stale. */
+    public boolean set(int slot, int serial, PackedQuads quad) {
+        if (!live(slot, serial)) return false;
+        quad.copyQuad(0, data, slotDense[slot] * INTS);
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Patch attributes of the quad behind a handle in place (see {@link PackedQuads#withAttributes}).
+     *
+     * @return the quad's dense index, or -1 if the handle is stale
+     */
+    public int patch(int slot, int serial, int mask, int argb, int light) {
+        if (!live(slot, serial)) return -1;
+        final int dense = slotDense[slot];
+        PackedQuads.patch(data, dense * INTS, (dense + 1) * INTS, mask, argb, light);
+        snapshot = null;
+        return dense;
+    }
+
+    /** Remove the quad behind a handle; false if the handle is stale. */
+    public boolean remove(int slot, int serial) {
+        if (!live(slot, serial)) return false;
+        final int hole = slotDense[slot];
+        final int last = --size;
+        if (hole != last) {
+            System.arraycopy(data, last * INTS, data, hole * INTS, INTS);
+            final int moved = denseSlot[last];
+            denseSlot[hole] = moved;
+            slotDense[moved] = hole;
+        }
+        slotSerial[slot] = 0;
+        slotDense[slot] = freeHead;
+        freeHead = slot;
+        snapshot = null;
+        return true;
+    }
+
+    /** Drop every quad; outstanding handles go stale. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            final int slot = denseSlot[i];
+            slotSerial[slot] = 0;
+            slotDense[slot] = freeHead;
+            freeHead = slot;
+        }
+        size = 0;
+        snapshot = PackedQuads.EMPTY;
+    }
+
+    /** Immutable copy of the live quads (in dense order, which changes on removal). */
+    public PackedQuads snapshot() {
+        if (snapshot == null) snapshot = PackedQuads.wrap(Arrays.copyOf(data, size * INTS));
+        return snapshot;
+    }
+
+    private boolean live(int slot, int serial) {
+        return slot >= 0 && slot < slots && serial != 0 && slotSerial[slot] == serial;
+    }
+
+    private int allocSlot() {
+        if (freeHead >= 0) {
+            final int slot = freeHead;
+            freeHead = slotDense[slot];
+            return slot;
+        }
+        if (slots == slotDense.length) {
+            slotDense = Arrays.copyOf(slotDense, slots * 2);
+            slotSerial = Arrays.copyOf(slotSerial, slots * 2);
+        }
+        return slots++;
+    }
+}
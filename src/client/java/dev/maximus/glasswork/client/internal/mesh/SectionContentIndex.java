@@ -0,0 +1,223 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.util.Log;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Which sections Glasswork has anything to do with, answerable from the per-section render hooks with one array
+ * read and no allocation.
+ * <p>Membership is a small {@code section → reason bits} map keyed by {@link SectionPos#asLong()}. A dense counter
+ * grid laid out like {@code ViewArea.getSectionIndex} mirrors it; the grid wraps around the camera like vanilla's, so
+ * far-apart sections can share a slot: a zero count means "definitely nothing here", non-zero means "look it up".</p>
+ * <p>Members with {@link #CONTENT} or {@link #CACHED} are also the capture interest set: only their vanilla translucent
+ * meshes are copied into {@link TranslucentMeshStore} at compile time. A section that gains content without a capture is flagged
+ * {@link #CAPTURE_PENDING} and recompiled once; the store entry is dropped when the section stops being a member.</p>
+ * <p>Writers (API threads, render thread, compile workers) serialize on one lock; readers only touch the current
+ * grid.</p>
+ */
+public final class SectionContentIndex {
+    /** The section has published quads. */
+    public static final int CONTENT = 1;
+    /** The section has a {@link SectionMeshCache} entry (our upload may still sit in its VBO). */
+    public static final int CACHED = 1 << 1;
+    /** Content arrived before vanilla's translucent mesh was captured; a recompile is on its way. */
+    public static final int CAPTURE_PENDING = 1 << 2;
+    /** The section has shader-tiled quads (drawn by their own pass; no capture needed). */
+    public static final int TILED = 1 << 3;
+
+    /** Reasons that need vanilla's translucent mesh captured. */
+    private static final int CAPTURING = CONTENT | CACHED;
+
+    private static final Object LOCK = new Object();
+    private static final Long2IntOpenHashMap REASONS = new Long2IntOpenHashMap();
+    private static volatile int members;
+    private static volatile @Nullable Grid grid;
+
+    private SectionContentIndex() {}
+
+    /** Lay the grid out for a (re)created {@code ViewArea}; existing members are re-counted. */
+    public static void configure(int sizeX, int sizeY, int sizeZ, int minSection) {
+        synchronized (LOCK) {
+            if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) {
+                grid = null;
+                return;
+            }
+            final Grid g = new Grid(sizeX, sizeY, sizeZ, minSection);
+            for (Long2IntMap.Entry e : REASONS.long2IntEntrySet()) g.add(e.getLongKey(), 1);
+            grid = g;
+        }
+        Log.d("[index.configure] grid={}x{}x{} minSection={} members={}", sizeX, sizeY, sizeZ, minSection, members);
+    }
+
+    /**
+     * Set or clear one {@code reason} bit for {@code section}. Dropping the captured mesh or requesting a recapture
+     * happens after the lock is released: both reach into the store and the level renderer, whose own locks and
+     * mixins must never nest inside this one.
+     */
+    public static void set(long section, int reason, boolean on) {
+        final boolean captured = on && reason == CONTENT && TranslucentMeshStore.get(section) != null;
+        boolean drop = false, recapture = false;
+        synchronized (LOCK) {
+            final int before = REASONS.get(section);
+            int after = on ? (before | reason) : (before & ~reason);
+            if (before == 0 && reason == CAPTURE_PENDING) return; // a marker alone never makes a member
+            if ((after & ~CAPTURE_PENDING) == 0) after = 0;
+            if (before == after) return;
+            if (after == 0) REASONS.remove(section);
+            else REASONS.put(section, after);
+            if (before == 0 || after == 0) {
+                final Grid g = grid;
+                if (g != null) g.add(section, (after == 0) ? -1 : 1);
+                members = REASONS.size();
+            }
+            if ((after & CAPTURING) == 0) {
+                drop = (before & CAPTURING) != 0;
+            } else if ((before & CAPTURING) == 0 && reason == CONTENT && !captured) {
+                REASONS.put(section, after | CAPTURE_PENDING);
+                recapture = true;
+            }
+        }
+        if (drop) TranslucentMeshStore.clear(section); // drop the captured vanilla mesh
+        if (recapture) requestRecompile(section);
+    }
+
+    /** True if {@code section} currently has {@code reason} set (locks; members only). */
+    public static boolean has(long section, int reason) {
+        synchronized (LOCK) {
+            return (REASONS.get(section) & reason) != 0;
+        }
+    }
+
+    /** Recapture a member whose stored mesh was evicted: flag it {@link #CAPTURE_PENDING} and force a recompile. */
+    public static void requestRecapture(long section) {
+        synchronized (LOCK) {
+            final int reasons = REASONS.get(section);
+            if (reasons == 0) return;
+            REASONS.put(section, reasons | CAPTURE_PENDING);
+        }
+        requestRecompile(section);
+    }
+
+    /**
+     * Mark {@code section} dirty so it compiles again soon: captures vanilla's translucent mesh and, in
+     * {@link GlassworkConfig.InjectionMode#COMPILE} mode, bakes the current quads into it.
+     */
+    public static void requestRecompile(long section) {
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc == null) return;
+        mc.execute(() -> {
+            if (mc.level == null) return;
+            mc.levelRenderer.setSectionDirty(SectionPos.x(section), SectionPos.y(section), SectionPos.z(section));
+        });
+        if (Log.isTraceEnabled()) Log.t("[index.recompile] requested @{}", SectionPos.of(section));
+    }
+
+    /**
+     * {@link #requestRecompile Recompile} every member (e.g. after switching injection mode); each is flagged
+     * {@link #CAPTURE_PENDING} so merges wait for the fresh capture.
+     */
+    public static void recompileAll() {
+        final long[] keys;
+        synchronized (LOCK) {
+            keys = REASONS.keySet().toLongArray();
+            for (long key : keys) REASONS.put(key, REASONS.get(key) | CAPTURE_PENDING);
+        }
+        for (long key : keys) requestRecompile(key);
+        Log.d("[index.recompileAll] {} section(s)", keys.length);
+    }
+
+    /** Clear {@code reason} from every section (lifecycle resets). */
+    public static void clear(int reason) {
+        final LongArrayList keys;
+        synchronized (LOCK) {
+            keys = new LongArrayList(REASONS.keySet());
+        }
+        for (int i = 0, n = keys.size(); i < n; i++) set(keys.getLong(i), reason, false);
+    }
+
+    /** Forget every member (world change); the grid layout is kept. */
+    public static void clearAll() {
+        synchronized (LOCK) {
+            REASONS.clear();
+            members = 0;
+            final Grid g = grid;
+            if (g != null) grid = new Grid(g.sizeX, g.sizeY, g.sizeZ, g.minSection);
+        }
+        Log.d("[index.clearAll] cleared");
+    }
+
+    /** False only if Glasswork definitely has nothing at the section whose origin is {@code origin}. */
+    public static boolean mayContain(BlockPos origin) {
+        return mayContain(SectionPos.blockToSectionCoord(origin.getX()),
+                SectionPos.blockToSectionCoord(origin.getY()),
+                SectionPos.blockToSectionCoord(origin.getZ()));
+    }
+
+    public static boolean mayContain(long section) {
+        return mayContain(SectionPos.x(section), SectionPos.y(section), SectionPos.z(section));
+    }
+
+    public static boolean mayContain(int sectionX, int sectionY, int sectionZ) {
+        if (members == 0) return false;
+        final Grid g = grid;
+        if (g == null) return true; // no view area yet → take the slow path
+        final int idx = g.index(sectionX, sectionY, sectionZ);
+        return idx >= 0 && g.counts.get(idx) != 0;
+    }
+
+    /** Exact membership (locks; not for per-frame use). */
+    public static boolean contains(long section) {
+        synchronized (LOCK) {
+            return REASONS.containsKey(section);
+        }
+    }
+
+    /** True if compiles of {@code section} should be captured (locks; not for per-frame use). */
+    public static boolean captures(long section) {
+        synchronized (LOCK) {
+            return (REASONS.get(section) & CAPTURING) != 0;
+        }
+    }
+
+    public static int size() {
+        return members;
+    }
+
+    /** Member counters per {@code ViewArea} slot. */
+    private static final class Grid {
+        final int sizeX, sizeY, sizeZ, minSection;
+        final AtomicIntegerArray counts;
+
+        Grid(int sizeX, int sizeY, int sizeZ, int minSection) {
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.minSection = minSection;
+            this.counts = new AtomicIntegerArray(sizeX * sizeY * sizeZ);
+        }
+
+        /** Same slot as {@code ViewArea.getSectionIndex}, or -1 outside the build height. */
+        int index(int sectionX, int sectionY, int sectionZ) {
+            final int y = sectionY - minSection;
+            if (y < 0 || y >= sizeY) return -1;
+            final int x = Mth.positiveModulo(sectionX, sizeX);
+            final int z = Mth.positiveModulo(sectionZ, sizeZ);
+            return (z * sizeY + y) * sizeX + x;
+        }
+
+        void add(long section, int delta) {
+            final int idx = index(SectionPos.x(section), SectionPos.y(section), SectionPos.z(section));
+            if (idx >= 0) counts.addAndGet(idx, delta);
+        }
+    }
+}
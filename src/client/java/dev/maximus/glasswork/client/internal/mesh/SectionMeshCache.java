@@ -0,0 +1,231 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.GlassworkProfiler;
+import dev.maximus.glasswork.util.ConcurrentLong2ObjectMap;
+import dev.maximus.glasswork.util.Log;
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.Nullable;
+
+
+/**
+ * Per-section cache of the injected mesh and of what was last uploaded into the section's translucent VBO.
+ * <p>An entry stays valid while the section's {@link SectionRenderDispatcher.CompiledSection} and translucent
+ * {@link VertexBuffer} are the ones we uploaded against; vanilla swaps the compiled section whenever it re-uploads
+ * the VBO, so a changed identity means our merged data is gone. The injected mesh is only re-encoded when the
+ * quad snapshot (or the vertex format) changes.</p>
+ * <p>The entry also keeps the {@link MeshData.SortState} of the last upload and the camera position it was sorted
+ * for, so only the index buffer is rebuilt, and only once the camera moved far enough (see {@link #needsResort}).</p>
+ * <p>Entries are read and written on the render thread, except {@link Entry#injected} which runs on
+ * {@link MeshBuildDispatcher} workers; removal may happen from lifecycle events.</p>
+ */
+public final class SectionMeshCache {
+    private static final ConcurrentLong2ObjectMap<Entry> CACHE = new ConcurrentLong2ObjectMap<>();
+
+    private SectionMeshCache() {}
+
+    /** Get the entry for {@code section} ({@link SectionPos#asLong()}), or null if nothing was uploaded there. */
+    public static @Nullable Entry get(long section) {
+        return CACHE.get(section);
+    }
+
+    /** Get or create the entry for {@code section}. */
+    public static Entry getOrCreate(long section) {
+        return CACHE.computeIfAbsent(section, k -> {
+            SectionContentIndex.set(k, SectionContentIndex.CACHED, true);
+            return new Entry();
+        });
+    }
+
+    /** Drop and free the entry for {@code section}, if present, cancelling any pending build. */
+    public static void remove(long section) {
+        MeshBuildDispatcher.cancel(section);
+        final Entry e = CACHE.remove(section);
+        if (e != null) {
+            SectionContentIndex.set(section, SectionContentIndex.CACHED, false);
+            e.close();
+            Log.d("[meshCache.remove] dropped entry @{}", SectionPos.of(section));
+        }
+    }
+
+    /** Drop and free all entries. */
+    public static void clearAll() {
+        MeshBuildDispatcher.clearAll();
+        UploadScheduler.clear();
+        int count = 0;
+        for (Entry e : CACHE.drain()) {
+            e.close();
+            count++;
+        }
+        SectionContentIndex.clear(SectionContentIndex.CACHED);
+        Log.d("[meshCache.clearAll] dropped {} entries", count);
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Shared re-sort trigger for a mesh of {@code section} last sorted from {@code sortX/Y/Z}; see
+     * {@link Entry#needsResort}.
+     */
+    public static boolean needsResort(double sortX, double sortY, double sortZ,
+                                      double camX, double camY, double camZ, long section) {
+        final double dx = camX - sortX, dy = camY - sortY, dz = camZ - sortZ;
+        final double dist = GlassworkConfig.resortDistance();
+        if (dx * dx + dy * dy + dz * dz > dist * dist) return true;
+
+        final int radius = GlassworkConfig.resortCellRadius();
+        if (radius < 0) return false;
+        if (Math.floor(camX) == Math.floor(sortX)
+                && Math.floor(camY) == Math.floor(sortY)
+                && Math.floor(camZ) == Math.floor(sortZ)) return false;
+        return Math.abs(SectionPos.posToSectionCoord(camX) - SectionPos.x(section)) <= radius
+                && Math.abs(SectionPos.posToSectionCoord(camY) - SectionPos.y(section)) <= radius
+                && Math.abs(SectionPos.posToSectionCoord(camZ) - SectionPos.z(section)) <= radius;
+    }
+
+    /** What Glasswork last built and uploaded for one section. */
+    public static final class Entry implements AutoCloseable {
+        private @Nullable PackedQuads quads;
+        private @Nullable TranslucentMeshStore.TrackedMesh injected;
+        private @Nullable VertexFormat format;
+        private @Nullable VertexFormat.Mode mode;
+        private @Nullable SectionRenderDispatcher.CompiledSection compiled;
+        private @Nullable VertexBuffer vbo;
+        private boolean ownCompiled;
+        /** First vertex of the injected quads in the uploaded VBO, or -1 if they cannot be patched in place. */
+        private int injectedBase = -1;
+        /** Snapshot the uploaded injected quads were built from (null before the first upload). */
+        private @Nullable PackedQuads uploadedQuads;
+        private @Nullable MeshData.SortState sortState;
+        private double sortX, sortY, sortZ;
+        /** Generation and {@link System#nanoTime()} of the last upload ({@code -1}/0 before the first). */
+        private int uploadedVersion = -1;
+        private long uploadedAt;
+        private boolean closed;
+
+        /** True if the VBO still holds our last upload (vanilla has not replaced compiled state or buffer). */
+        public boolean isCurrent(@Nullable SectionRenderDispatcher.CompiledSection compiled, @Nullable VertexBuffer vbo) {
+            return this.compiled != null && this.compiled == compiled && this.vbo == vbo;
+        }
+
+        /**
+         * Injected mesh for {@code quads}; re-encoded only when the snapshot, format or mode changed.
+         * The returned mesh stays owned by this entry but carries a reference for the caller, so a newer build or
+         * {@link #close()} cannot free it mid-merge; {@link TranslucentMeshStore.TrackedMesh#release() release} it
+         * when done. Called from build workers; returns null once the entry was dropped.
+         */
+        public synchronized @Nullable TranslucentMeshStore.TrackedMesh injected(PackedQuads quads, long section,
+                                                                              VertexFormat fmt, VertexFormat.Mode mode) {
+            if (closed) return null;
+            if (injected == null || this.quads != quads || this.format != fmt || this.mode != mode) {
+                final long t0 = GlassworkProfiler.begin();
+                final TranslucentMeshStore.TrackedMesh fresh = InjectedMeshBuilder.build(quads, section, fmt, mode);
+                GlassworkProfiler.end(GlassworkProfiler.Phase.BUILD, t0);
+                if (injected != null) injected.close();
+                injected = fresh;
+                this.quads = quads;
+                this.format = fmt;
+                this.mode = mode;
+            }
+            return injected.retain() ? injected : null;
+        }
+
+        /**
+         * Remember which compiled section / VBO the last upload went into, for which generation and when;
+         * {@code created} if the compiled section is one we installed because vanilla had none with geometry.
+         */
+        public void markUploaded(SectionRenderDispatcher.CompiledSection compiled, VertexBuffer vbo, boolean created,
+                                 int version) {
+            this.compiled = compiled;
+            this.vbo = vbo;
+            this.ownCompiled = created;
+            this.uploadedVersion = version;
+            this.uploadedAt = System.nanoTime();
+        }
+
+        /** True while less than {@code windowNanos} passed since the last upload (always false for {@code <= 0}). */
+        public boolean withinWindow(long windowNanos) {
+            return windowNanos > 0 && uploadedVersion >= 0 && System.nanoTime() - uploadedAt < windowNanos;
+        }
+
+        /**
+         * Remember where the injected quads start in the vertex buffer uploaded from {@code built}: they are the last
+         * {@link MeshBuildDispatcher.Built#injectedVertices()} vertices of its merged mesh. Only
+         * {@link DefaultVertexFormat#BLOCK} uploads match the packed layout and can be patched in place.
+         */
+        public void markLayout(MeshBuildDispatcher.Built built) {
+            final MeshData.DrawState uploaded = built.mesh().mesh().drawState();
+            this.uploadedQuads = built.quads();
+            this.injectedBase = (uploaded.format() == DefaultVertexFormat.BLOCK && built.injectedVertices() >= 0)
+                    ? uploaded.vertexCount() - built.injectedVertices()
+                    : -1;
+        }
+
+        /** See {@link #markLayout}; -1 if unknown. */
+        public int injectedBase() {
+            return injectedBase;
+        }
+
+        /** Quads in the uploaded snapshot; patch ranges past it are not in the VBO. */
+        public int uploadedQuadCount() {
+            return (uploadedQuads != null) ? uploadedQuads.size() : 0;
+        }
+
+        /** Generation of the last upload, -1 before the first. */
+        public int uploadedVersion() {
+            return uploadedVersion;
+        }
+
+        /** True if {@code compiled} is a compiled section we installed (its translucent flag is ours, not vanilla's). */
+        public boolean ownsCompiled(@Nullable SectionRenderDispatcher.CompiledSection compiled) {
+            return ownCompiled && compiled != null && this.compiled == compiled;
+        }
+
+        /** Remember the sort state and the camera position the index buffer was built for. */
+        public void markSorted(@Nullable MeshData.SortState state, double camX, double camY, double camZ) {
+            this.sortState = state;
+            this.sortX = camX;
+            this.sortY = camY;
+            this.sortZ = camZ;
+        }
+
+        public @Nullable MeshData.SortState sortState() {
+            return sortState;
+        }
+
+        /**
+         * Like vanilla's {@code resortTransparency} trigger: re-sort once the camera travelled more than
+         * {@link GlassworkConfig#resortDistance()} since the last sort, or changed block cell while this section is
+         * within {@link GlassworkConfig#resortCellRadius()} sections of it (near panes flip order first).
+         */
+        public boolean needsResort(double camX, double camY, double camZ, long section) {
+            return sortState != null && SectionMeshCache.needsResort(sortX, sortY, sortZ, camX, camY, camZ, section);
+        }
+
+        /** Compiled section we last uploaded against (may be one we created). */
+        public @Nullable SectionRenderDispatcher.CompiledSection compiled() {
+            return compiled;
+        }
+
+        @Override public synchronized void close() {
+            closed = true;
+            if (injected != null) {
+                injected.close();
+                injected = null;
+            }
+            quads = null;
+            injectedBase = -1;
+            uploadedQuads = null;
+            sortState = null;
+            compiled = null;
+            vbo = null;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import dev.maximus.glasswork.api.InjectedQuad;
+import dev.maximus.glasswork.api.QuadVertex;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Clips world-space quads at 16-block section borders so each piece can live in (and be culled with) the section
+ * that contains it.
+ * <p>A quad is treated as a convex polygon whose vertices carry {@code n} floats, the first three being the position;
+ * every attribute is interpolated linearly along clipped edges, so UVs stay continuous across pieces. The polygon is
+ * cut slab by slab (X, then Y, then Z), and each non-degenerate piece is fanned back into quads (a trailing triangle
+ * repeats its last vertex). Quads that already fit in one section pass through untouched.</p>
+ */
+public final class SectionSplitter {
+    /** Up to 4 corners plus one per clip plane. */
+    private static final int MAX_VERTICES = 4 + 6;
+    private static final float MIN_AREA = 1e-6f;
+
+    /** Receives one clipped quad; the arrays are reused after the call returns. */
+    @FunctionalInterface
+    public interface QuadConsumer {
+        void accept(long section, float[] a, float[] b, float[] c, float[] d);
+    }
+
+    private SectionSplitter() {}
+
+    /** Section key ({@link SectionPos#asLong()}) containing the whole quad, or {@link Long#MAX_VALUE} if it spans several. */
+    public static long sectionOf(float[][] quad) {
+        for (int axis = 0; axis < 3; axis++) {
+            if (lo(minOf(quad, 4, axis)) != hi(minOf(quad, 4, axis), maxOf(quad, 4, axis))) return Long.MAX_VALUE;
+        }
+        return SectionPos.asLong(lo(minOf(quad, 4, 0)), lo(minOf(quad, 4, 1)), lo(minOf(quad, 4, 2)));
+    }
+
+    /**
+     * Clip {@code quad} (4 vertices of {@code n} floats each) at section borders and hand every piece to {@code out}.
+     */
+    public static void split(float[][] quad, int n, QuadConsumer out) {
+        final float[][] poly = new float[MAX_VERTICES][n];
+        for (int i = 0; i < 4; i++) System.arraycopy(quad[i], 0, poly[i], 0, n);
+        splitAxis(poly, 4, n, 0, new int[3], out);
+    }
+
+    /** Bucket world-space quads by the section containing each piece, clipping the ones that cross borders. */
+    public static Long2ObjectMap<List<InjectedQuad>> split(Collection<InjectedQuad> quads) {
+        final Long2ObjectOpenHashMap<List<InjectedQuad>> out = new Long2ObjectOpenHashMap<>();
+        final float[][] corners = new float[4][ATTRS];
+        for (InjectedQuad q : quads) {
+            if (q == null || q.v1() == null || q.v2() == null || q.v3() == null || q.v4() == null) continue;
+            encode(q.v1(), corners[0]);
+            encode(q.v2(), corners[1]);
+            encode(q.v3(), corners[2]);
+            encode(q.v4(), corners[3]);
+            final long single = sectionOf(corners);
+            if (single != Long.MAX_VALUE) {
+                out.computeIfAbsent(single, k -> new ArrayList<>()).add(q);
+                continue;
+            }
+            split(corners, ATTRS, (section, a, b, c, d) -> out.computeIfAbsent(section, k -> new ArrayList<>())
+                    .add(new InjectedQuad(decode(a), decode(b), decode(c), decode(d))));
+        }
+        return out;
+    }
+
+    /* ---------- clipping ---------- */
+
+    /** Clip to each section slab along {@code axis}, recursing into the next axis; {@code cell} tracks the piece's section. */
+    private static void splitAxis(float[][] poly, int count, int n, int axis, int[] cell, QuadConsumer out) {
+        if (axis == 3) {
+            emit(poly, count, cell, out);
+            return;
+        }
+        final float min = minOf(poly, count, axis), max = maxOf(poly, count, axis);
+        final int lo = lo(min), hi = hi(min, max);
+        cell[axis] = lo;
+        if (lo == hi) {
+            splitAxis(poly, count, n, axis + 1, cell, out);
+            return;
+        }
+        final float[][] piece = new float[MAX_VERTICES][n];
+        final float[][] tmp = new float[MAX_VERTICES][n];
+        for (int c = lo; c <= hi; c++) {
+            final float p0 = SectionPos.sectionToBlockCoord(c), p1 = p0 + 16f;
+            int m = clip(poly, count, tmp, n, axis, p0, true);
+            m = clip(tmp, m, piece, n, axis, p1, false);
+            if (m < 3) continue;
+            cell[axis] = c;
+            splitAxis(piece, m, n, axis + 1, cell, out);
+        }
+    }
+
+    /** Sutherland–Hodgman against one axis plane; keeps {@code coord >= plane} if {@code keepAbove}, else {@code <=}. */
+    private static int clip(float[][] in, int count, float[][] out, int n, int axis, float plane, boolean keepAbove) {
+        int m = 0;
+        for (int i = 0; i < count; i++) {
+            final float[] a = in[i], b = in[(i + 1) % count];
+            final float da = keepAbove ? a[axis] - plane : plane - a[axis];
+            final float db = keepAbove ? b[axis] - plane : plane - b[axis];
+            if (da >= 0f) System.arraycopy(a, 0, out[m++], 0, n);
+            if ((da > 0f && db < 0f) || (da < 0f && db > 0f)) {
+                final float t = da / (da - db);
+                final float[] o = out[m++];
+                for (int k = 0; k < n; k++) o[k] = a[k] + (b[k] - a[k]) * t;
+                o[axis] = plane; // exact on the border so neighbours meet without cracks
+            }
+        }
+        return m;
+    }
+
+    private static void emit(float[][] poly, int count, int[] cell, QuadConsumer out) {
+        if (count < 3 || area(poly, count) < MIN_AREA) return;
+        final long section = SectionPos.asLong(cell[0], cell[1], cell[2]);
+        for (int i = 1; i + 1 < count; i += 2) {
+            final float[] d = (i + 2 < count) ? poly[i + 2] : poly[i + 1];
+            out.accept(section, poly[0], poly[i], poly[i + 1], d);
+        }
+    }
+
+    /** Twice the polygon's area (magnitude of the summed cross products). */
+    private static float area(float[][] p, int count) {
+        float x = 0f, y = 0f, z = 0f;
+        for (int i = 1; i + 1 < count; i++) {
+            final float ax = p[i][0] - p[0][0], ay = p[i][1] - p[0][1], az = p[i][2] - p[0][2];
+            final float bx = p[i + 1][0] - p[0][0], by = p[i + 1][1] - p[0][1], bz = p[i + 1][2] - p[0][2];
+            x += ay * bz - az * by;
+            y += az * bx - ax * bz;
+            z += ax * by - ay * bx;
+        }
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /** First section cell touched along an axis. */
+    private static int lo(float min) {
+        return SectionPos.blockToSectionCoord(Mth.floor(min));
+    }
+
+    /** Last section cell touched along an axis; a face lying on a border belongs to the cell above it. */
+    private static int hi(float min, float max) {
+        if (max <= min) return lo(min);
+        return SectionPos.blockToSectionCoord(Mth.ceil(max) - 1);
+    }
+
+    private static float minOf(float[][] p, int count, int axis) {
+        float m = p[0][axis];
+        for (int i = 1; i < count; i++) m = Math.min(m, p[i][axis]);
+        return m;
+    }
+
+    private static float maxOf(float[][] p, int count, int axis) {
+        float m = p[0][axis];
+        for (int i = 1; i < count; i++) m = Math.max(m, p[i][axis]);
+        return m;
+    }
+
+    /* ---------- QuadVertex ⇄ floats ---------- */
+
+    /** x, y, z, u, v, a, r, g, b, block light, sky light, overlay u, overlay v, nx, ny, nz. */
+    private static final int ATTRS = 16;
+
+    private static void encode(QuadVertex v, float[] o) {
+        o[0] = v.x(); o[1] = v.y(); o[2] = v.z();
+        o[3] = v.u(); o[4] = v.v();
+        final int c = v.color();
+        o[5] = (c >>> 24) & 0xFF; o[6] = (c >>> 16) & 0xFF; o[7] = (c >>> 8) & 0xFF; o[8] = c & 0xFF;
+        o[9] = v.light() & 0xFFFF; o[10] = (v.light() >>> 16) & 0xFFFF;
+        o[11] = v.overlay() & 0xFFFF; o[12] = (v.overlay() >>> 16) & 0xFFFF;
+        o[13] = v.nx(); o[14] = v.ny(); o[15] = v.nz();
+    }
+
+    private static QuadVertex decode(float[] o) {
+        final int color = (channel(o[5]) << 24) | (channel(o[6]) << 16) | (channel(o[7]) << 8) | channel(o[8]);
+        final int light = (Math.round(o[9]) & 0xFFFF) | ((Math.round(o[10]) & 0xFFFF) << 16);
+        final int overlay = (Math.round(o[11]) & 0xFFFF) | ((Math.round(o[12]) & 0xFFFF) << 16);
+        return new QuadVertex(o[0], o[1], o[2], o[3], o[4], color, light, overlay, o[13], o[14], o[15]);
+    }
+
+    private static int channel(float f) {
+        return Mth.clamp(Math.round(f), 0, 255);
+    }
+}
@@ -0,0 +1,35 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The sprite a stored quad was textured with, as it sat in the atlas at pack time. After a restitch the quad's UVs
+ * are moved from these bounds to the sprite's new ones (see {@link PackedQuads#remapSprites}), so callers do not have
+ * to regenerate their geometry.
+ */
+public record SpriteRef(ResourceLocation name, float u0, float v0, float u1, float v1) {
+    public static SpriteRef of(TextureAtlasSprite sprite) {
+        return new SpriteRef(sprite.contents().name(), sprite.getU0(), sprite.getV0(), sprite.getU1(), sprite.getV1());
+    }
+
+    /** Atlas U inside this sprite's old bounds, moved to the same spot inside {@code to}'s bounds. */
+    float remapU(float u, SpriteRef to) {
+        return to.u0 + ((u1 != u0) ? (u - u0) / (u1 - u0) : 0f) * (to.u1 - to.u0);
+    }
+
+    float remapV(float v, SpriteRef to) {
+        return to.v0 + ((v1 != v0) ? (v - v0) / (v1 - v0) : 0f) * (to.v1 - to.v0);
+    }
+
+    /** Per-quad refs of {@code a} followed by {@code b}; null when neither side has any. */
+    static @Nullable SpriteRef[] concat(@Nullable SpriteRef[] a, int aQuads, @Nullable SpriteRef[] b, int bQuads) {
+        if (a == null && b == null) return null;
+        final SpriteRef[] out = (a != null) ? Arrays.copyOf(a, aQuads + bQuads) : new SpriteRef[aQuads + bQuads];
+        if (b != null) System.arraycopy(b, 0, out, aQuads, bQuads);
+        return out;
+    }
+}
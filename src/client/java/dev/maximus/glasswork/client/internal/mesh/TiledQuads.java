@@ -0,0 +1,198 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import dev.maximus.glasswork.client.internal.render.GlassworkVertexFormats;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, packed storage for one section's shader-tiled quads, in the layout of
+ * {@link GlassworkVertexFormats#TILED_BLOCK}: the {@link PackedQuads} BLOCK layout (8 ints) followed by the sprite's
+ * atlas bounds {@code u0, v0, du, dv} (4 floats), 48 bytes per vertex.
+ * <p>UVs are in tile units and may exceed 1: the tiling shader wraps them with {@code fract} inside the sprite
+ * bounds, so a whole surface stays one quad. Positions are section-local.</p>
+ */
+public final class TiledQuads {
+    public static final int INTS_PER_VERTEX = 12;
+    public static final int INTS_PER_QUAD = 4 * INTS_PER_VERTEX;
+
+    public static final TiledQuads EMPTY = new TiledQuads(new int[0], null);
+
+    private static final int X = 0, Y = 1, Z = 2, COLOR = 3, U = 4, V = 5, LIGHT = 6, NORMAL = 7;
+    private static final int SPRITE_U0 = 8, SPRITE_V0 = 9, SPRITE_DU = 10, SPRITE_DV = 11;
+
+    private final int[] data;
+    /** Per quad, like {@link PackedQuads}; null if no quad has one. */
+    private final @Nullable SpriteRef[] sprites;
+    /** {@link #contentHash()} once computed, 0 before (a racy recompute is harmless, as for {@code String}). */
+    private int hash;
+
+    private TiledQuads(int[] data, @Nullable SpriteRef[] sprites) {
+        this.data = data;
+        this.sprites = sprites;
+    }
+
+    /** {@code a} followed by {@code b} (both packed for the same section). */
+    public static TiledQuads concat(TiledQuads a, TiledQuads b) {
+        if (a.isEmpty()) return b;
+        if (b.isEmpty()) return a;
+        final int[] out = Arrays.copyOf(a.data, a.data.length + b.data.length);
+        System.arraycopy(b.data, 0, out, a.data.length, b.data.length);
+        return new TiledQuads(out, SpriteRef.concat(a.sprites, a.size(), b.sprites, b.size()));
+    }
+
+    /** The same quads, all tagged as tiling {@code sprite} (vertex data is shared). */
+    public TiledQuads withSprite(SpriteRef sprite) {
+        if (isEmpty()) return this;
+        final SpriteRef[] refs = new SpriteRef[size()];
+        Arrays.fill(refs, sprite);
+        return new TiledQuads(data, refs);
+    }
+
+    /**
+     * Point the sprite bounds of tagged quads at where their sprites now sit in {@code atlas}; tile-space UVs need
+     * no change. Returns {@code this} if no sprite moved.
+     */
+    public TiledQuads remapSprites(Function<ResourceLocation, TextureAtlasSprite> atlas) {
+        if (sprites == null) return this;
+        final HashMap<SpriteRef, SpriteRef> current = new HashMap<>();
+        int[] out = null;
+        SpriteRef[] refs = null;
+        for (int q = 0; q < sprites.length; q++) {
+            final SpriteRef from = sprites[q];
+            if (from == null) continue;
+            final SpriteRef to = current.computeIfAbsent(from, r -> SpriteRef.of(atlas.apply(r.name())));
+            if (to.equals(from)) continue;
+            if (out == null) {
+                out = data.clone();
+                refs = sprites.clone();
+            }
+            for (int i = q * INTS_PER_QUAD, end = i + INTS_PER_QUAD; i < end; i += INTS_PER_VERTEX) {
+                out[i + SPRITE_U0] = Float.floatToRawIntBits(to.u0());
+                out[i + SPRITE_V0] = Float.floatToRawIntBits(to.v0());
+                out[i + SPRITE_DU] = Float.floatToRawIntBits(to.u1() - to.u0());
+                out[i + SPRITE_DV] = Float.floatToRawIntBits(to.v1() - to.v0());
+            }
+            refs[q] = to;
+        }
+        return (out != null) ? new TiledQuads(out, refs) : this;
+    }
+
+    public int size()        { return data.length / INTS_PER_QUAD; }
+    public boolean isEmpty() { return data.length == 0; }
+    public int vertexCount() { return data.length / INTS_PER_VERTEX; }
+    public int byteSize()    { return data.length * Integer.BYTES; }
+
+    /** Cached hash of the vertex data, like {@link PackedQuads#contentHash()}. */
+    public int contentHash() {
+        int h = hash;
+        if (h == 0 && data.length != 0) {
+            h = Arrays.hashCode(data);
+            if (h == 0) h = 1;
+            hash = h;
+        }
+        return h;
+    }
+
+    /** Same vertex data and sprite tags as {@code other}. */
+    public boolean sameContent(TiledQuads other) {
+        if (this == other) return true;
+        if (data.length != other.data.length || contentHash() != other.contentHash()) return false;
+        return Arrays.equals(data, other.data) && Arrays.equals(sprites, other.sprites);
+    }
+
+    /** Bulk-copy the vertex data ({@link GlassworkVertexFormats#TILED_BLOCK}, section-local) to {@code address}. */
+    public void copyTo(long address) {
+        MemoryUtil.memIntBuffer(address, data.length).put(data, 0, data.length);
+    }
+
+    /**
+     * Staging buffer for tiled quads, mirroring {@link PackedQuads.Writer}; {@link #sprite} applies to the current
+     * vertex like any other attribute. Not thread-safe.
+     */
+    public static final class Writer {
+        private static final int DEFAULT_NORMAL =
+                PackedQuads.packNormal(0f) | (PackedQuads.packNormal(1f) << 8) | (PackedQuads.packNormal(0f) << 16);
+
+        private int[] data = new int[4 * INTS_PER_QUAD];
+        private int size;
+        private int current = -1;
+
+        public void reset() {
+            size = 0;
+            current = -1;
+        }
+
+        public void vertex(float x, float y, float z) {
+            if (size + INTS_PER_VERTEX > data.length) data = Arrays.copyOf(data, data.length * 2);
+            current = size;
+            size += INTS_PER_VERTEX;
+            data[current + X] = Float.floatToRawIntBits(x);
+            data[current + Y] = Float.floatToRawIntBits(y);
+            data[current + Z] = Float.floatToRawIntBits(z);
+            data[current + COLOR] = -1;
+            data[current + U] = 0;
+            data[current + V] = 0;
+            data[current + LIGHT] = LightTexture.FULL_BRIGHT;
+            data[current + NORMAL] = DEFAULT_NORMAL;
+            data[current + SPRITE_U0] = 0;
+            data[current + SPRITE_V0] = 0;
+            data[current + SPRITE_DU] = Float.floatToRawIntBits(1f);
+            data[current + SPRITE_DV] = Float.floatToRawIntBits(1f);
+        }
+
+        /** Tile-space UV: one sprite per unit, wrapped by the shader. */
+        public void uv(float u, float v) {
+            final int i = current();
+            data[i + U] = Float.floatToRawIntBits(u);
+            data[i + V] = Float.floatToRawIntBits(v);
+        }
+
+        /** ARGB ({@code 0xAARRGGBB}). */
+        public void color(int argb) {
+            data[current() + COLOR] = PackedQuads.swapRedBlue(argb);
+        }
+
+        public void light(int packedLight) {
+            data[current() + LIGHT] = packedLight;
+        }
+
+        public void normal(float nx, float ny, float nz) {
+            data[current() + NORMAL] = PackedQuads.packNormal(nx)
+                    | (PackedQuads.packNormal(ny) << 8)
+                    | (PackedQuads.packNormal(nz) << 16);
+        }
+
+        /** Atlas bounds of the sprite to tile. */
+        public void sprite(float u0, float v0, float u1, float v1) {
+            final int i = current();
+            data[i + SPRITE_U0] = Float.floatToRawIntBits(u0);
+            data[i + SPRITE_V0] = Float.floatToRawIntBits(v0);
+            data[i + SPRITE_DU] = Float.floatToRawIntBits(u1 - u0);
+            data[i + SPRITE_DV] = Float.floatToRawIntBits(v1 - v0);
+        }
+
+        public int vertexCount() {
+            return size / INTS_PER_VERTEX;
+        }
+
+        /** {@code base} followed by everything written so far (one array copy); {@code base} itself if nothing was. */
+        public TiledQuads appendTo(TiledQuads base) {
+            if (size == 0) return base;
+            final int[] out = Arrays.copyOf(base.data, base.data.length + size);
+            System.arraycopy(data, 0, out, base.data.length, size);
+            return new TiledQuads(out, SpriteRef.concat(base.sprites, base.size(), null, size / INTS_PER_QUAD));
+        }
+
+        private int current() {
+            if (current < 0) throw new IllegalStateException("no vertex started");
+            return current;
+        }
+    }
+}
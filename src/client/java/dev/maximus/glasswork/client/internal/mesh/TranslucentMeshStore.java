@@ -1,110 +1,252 @@
 package dev.maximus.glasswork.client.internal.mesh;
 
 import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.MeshData;
 import com.mojang.blaze3d.vertex.VertexFormat;
+import dev.maximus.glasswork.GlassworkConfig;
 import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.GlassworkProfiler;
+import dev.maximus.glasswork.client.internal.jfr.MeshEvictEvent;
+import dev.maximus.glasswork.client.internal.jfr.MeshMergeEvent;
+import dev.maximus.glasswork.util.ConcurrentLong2ObjectMap;
 import dev.maximus.glasswork.util.Log;
-import net.minecraft.core.BlockPos;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.core.SectionPos;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.system.MemoryUtil;
 
+import java.lang.ref.Reference;
 import java.nio.ByteBuffer;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 
 /**
- * Client-side store for translucent meshes keyed by an origin {@link BlockPos}.
- * <p>Thread-safe, backed by concurrent collections. Each stored {@link TrackedMesh} owns native memory via
- * {@link ByteBufferBuilder} and must be {@link TrackedMesh#close()}d when removed.</p>
+ * Client-side store for translucent meshes keyed by {@link SectionPos#asLong()}.
+ * <p>Thread-safe, backed by a primitive-keyed striped map. Each stored {@link TrackedMesh} owns native memory via
+ * {@link ByteBufferBuilder} and must be {@link TrackedMesh#close()}d when removed; readers off the render thread
+ * {@link #acquire} a reference instead of locking the store while they copy.</p>
+ * <p>Stored bytes are held under {@link GlassworkConfig#trackedBudgetBytes()}: once per frame, meshes of sections
+ * that were not rendered recently are evicted farthest-first. An evicted section is recaptured (forced recompile)
+ * the next time it is rendered, see {@link #touch}.</p>
  */
 public final class TranslucentMeshStore {
-    private static final Map<BlockPos, TrackedMesh> STORE = new ConcurrentHashMap<>();
-    private static final Set<BlockPos> DIRTY = ConcurrentHashMap.newKeySet();
+    private static final ConcurrentLong2ObjectMap<TrackedMesh> STORE = new ConcurrentLong2ObjectMap<>();
+    private static final LongSet DIRTY = LongSets.synchronize(new LongOpenHashSet());
+    /** Evicted section → bytes it held; {@code -1} when absent. */
+    private static final Long2IntMap EVICTED = Long2IntMaps.synchronize(newEvictedMap());
+    private static final AtomicLong LIVE_BYTES = new AtomicLong();
+    private static final AtomicLong EVICTED_BYTES = new AtomicLong();
+
+    /** Sections not rendered for this many frames may be evicted. */
+    private static final int STALE_FRAMES = 60;
+    /** Evict down to this share of the budget so we do not evict again next frame. */
+    private static final double EVICT_TARGET = 0.9;
+
+    /** Frame counter stamped on meshes when their section is rendered (render thread). */
+    private static long frame;
+    private static boolean overBudgetWarned;
 
     private TranslucentMeshStore() {}
 
     /**
-     * Store a deep-copied mesh at {@code origin}, or remove if {@code mesh} is null.
+     * Store a deep-copied mesh at {@code section}, or remove if {@code mesh} is null or cannot be copied.
      * Frees any previously stored mesh at that key.
      */
-    public static void storeOrRemove(BlockPos origin, @Nullable MeshData mesh) {
-        if (origin == null) {
-            Log.w("[mesh.storeOrRemove] origin=null -> no-op");
+    public static void storeOrRemove(long section, @Nullable MeshData mesh) {
+        forgetEvicted(section);
+        final TrackedMesh copy = (mesh != null) ? deepCopy(mesh, NativeMemory.Owner.TRACKED) : null;
+        if (copy == null) {
+            final TrackedMesh old = STORE.remove(section);
+            final int freed = (old != null) ? old.bytes : 0;
+            if (old != null) {
+                drop(old);
+                Log.d("[mesh.storeOrRemove] freed previous mesh @{}", SectionPos.of(section));
+            }
+            DIRTY.remove(section);
+            GlassworkMetrics.recordClientMeshRemove(freed, 1);
+            Log.d("[mesh.storeOrRemove] removed mesh @{}", SectionPos.of(section));
             return;
         }
-        final BlockPos key = origin.immutable();
 
-        final TrackedMesh old = STORE.remove(key);
+        adopt(copy);
+        final TrackedMesh old = STORE.put(section, copy);
         if (old != null) {
-            old.close();
-            Log.d("[mesh.storeOrRemove] freed previous mesh @{}", key);
+            drop(old);
+            Log.d("[mesh.storeOrRemove] freed previous mesh @{}", SectionPos.of(section));
         }
+        GlassworkMetrics.recordClientMeshStore(sizeOf(mesh), sizeOf(copy.mesh()));
+        Log.d("[mesh.storeOrRemove] stored mesh @{} bytes={}", SectionPos.of(section), sizeOf(copy.mesh()));
+    }
 
-        if (mesh == null) {
-            DIRTY.remove(key);
-            GlassworkMetrics.recordClientMeshRemove(0, 1);
-            Log.d("[mesh.storeOrRemove] removed mesh @{}", key);
+    /**
+     * Replace mesh at {@code section} with {@code fresh}. If {@code fresh} is null or cannot be copied, clears the
+     * entry. Clears the DIRTY flag for this key.
+     */
+    public static void replace(long section, @Nullable MeshData fresh) {
+        final TrackedMesh copy = (fresh != null) ? deepCopy(fresh, NativeMemory.Owner.TRACKED) : null;
+        if (copy == null) {
+            clear(section);
             return;
         }
 
-        final TrackedMesh copy = deepCopy(mesh);
-        STORE.put(key, copy);
-        GlassworkMetrics.recordClientMeshStore(sizeOf(mesh), sizeOf(copy.mesh()));
-        Log.d("[mesh.storeOrRemove] stored mesh @{} bytes={}", key, sizeOf(copy.mesh()));
+        adopt(copy);
+        final TrackedMesh old = STORE.put(section, copy);
+        if (old != null) drop(old);
+        DIRTY.remove(section);
+        forgetEvicted(section);
+
+        GlassworkMetrics.recordClientMeshReplace(sizeOf(fresh), sizeOf(copy.mesh()));
+        Log.d("[mesh.replace] replaced mesh @{} bytes={}", SectionPos.of(section), sizeOf(copy.mesh()));
+    }
+
+    /** Get the tracked mesh for {@code section} (borrowed, render thread only; do not close it). */
+    public static @Nullable TrackedMesh get(long section) {
+        return STORE.get(section);
     }
 
     /**
-     * Replace mesh at {@code origin} with {@code fresh}. If {@code fresh} is null, clears the entry.
-     * Clears the DIRTY flag for this key.
+     * Retain the tracked mesh for {@code section} so it stays readable even if the store replaces it meanwhile.
+     * The caller must {@link TrackedMesh#release()} it. Returns null if none (or it was just freed).
      */
-    public static void replace(BlockPos origin, @Nullable MeshData fresh) {
-        if (origin == null) {
-            Log.w("[mesh.replace] origin=null -> no-op");
-            return;
+    public static @Nullable TrackedMesh acquire(long section) {
+        final TrackedMesh t = STORE.get(section);
+        return (t != null && t.retain()) ? t : null;
+    }
+
+    /**
+     * Note that {@code section} is being rendered this frame (render thread). If its mesh was evicted, a recapture
+     * is requested so the next merge has vanilla's translucent geometry again.
+     */
+    public static void touch(long section) {
+        final TrackedMesh t = STORE.get(section);
+        if (t != null) {
+            t.lastRendered = frame;
+        } else if (forgetEvicted(section)) {
+            SectionContentIndex.requestRecapture(section);
         }
-        origin = origin.immutable();
+    }
+
+    /** Whether {@code section}'s capture was evicted and not yet recaptured. */
+    public static boolean isEvicted(long section) {
+        return EVICTED.containsKey(section);
+    }
 
-        if (fresh == null) {
-            clear(origin);
+    /**
+     * Per-frame upkeep (render thread, after the translucent layer): advance the frame stamp and, if over budget,
+     * evict meshes of sections not rendered for {@value #STALE_FRAMES} frames, farthest from the camera first.
+     * Meshes of sections on screen are never evicted.
+     */
+    public static void endFrame(double camX, double camY, double camZ) {
+        frame++;
+        final long budget = GlassworkConfig.trackedBudgetBytes();
+        if (LIVE_BYTES.get() <= budget) {
+            overBudgetWarned = false;
             return;
         }
 
-        final TrackedMesh copy = deepCopy(fresh);
-        final TrackedMesh old = STORE.put(origin, copy);
-        if (old != null) old.close();
-        DIRTY.remove(origin);
+        final MeshEvictEvent event = new MeshEvictEvent();
+        event.begin();
+        final long staleBefore = frame - STALE_FRAMES;
+        final LongArrayList keys = new LongArrayList();
+        final ArrayList<TrackedMesh> meshes = new ArrayList<>();
+        STORE.forEach((key, t) -> {
+            if (t.lastRendered < staleBefore) {
+                keys.add(key);
+                meshes.add(t);
+            }
+        });
+
+        final int[] order = new int[keys.size()];
+        final long[] rendered = new long[order.length];
+        final double[] dist = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            final long k = keys.getLong(i);
+            rendered[i] = meshes.get(i).lastRendered;
+            final double dx = SectionPos.sectionToBlockCoord(SectionPos.x(k), 8) - camX;
+            final double dy = SectionPos.sectionToBlockCoord(SectionPos.y(k), 8) - camY;
+            final double dz = SectionPos.sectionToBlockCoord(SectionPos.z(k), 8) - camZ;
+            dist[i] = dx * dx + dy * dy + dz * dz;
+            order[i] = i;
+        }
+        // least recently rendered first, farthest first among equals
+        IntArrays.quickSort(order, (a, b) -> {
+            final int byFrame = Long.compare(rendered[a], rendered[b]);
+            return (byFrame != 0) ? byFrame : Double.compare(dist[b], dist[a]);
+        });
+
+        final long target = (long) (budget * EVICT_TARGET);
+        long freed = 0;
+        int count = 0;
+        for (int i = 0; i < order.length && LIVE_BYTES.get() > target; i++) {
+            final long k = keys.getLong(order[i]);
+            final TrackedMesh t = meshes.get(order[i]);
+            if (!STORE.remove(k, t)) continue; // replaced by a compile meanwhile
+            EVICTED.put(k, t.bytes);
+            freed += t.bytes;
+            count++;
+            drop(t);
+        }
+        if (count > 0 && event.shouldCommit()) {
+            event.meshes = count;
+            event.freedBytes = freed;
+            event.liveBytes = LIVE_BYTES.get();
+            event.commit();
+        }
+        if (count > 0) {
+            EVICTED_BYTES.addAndGet(freed);
+            GlassworkMetrics.recordClientMeshEvict(freed, count);
+            Log.d("[mesh.evict] evicted {} mesh(es), {} B; live={} B budget={} B", count, freed, LIVE_BYTES.get(), budget);
+        }
+        if (LIVE_BYTES.get() > budget && !overBudgetWarned) {
+            overBudgetWarned = true;
+            Log.w("[mesh.evict] {} B of captured meshes are on screen, over the {} B budget", LIVE_BYTES.get(), budget);
+        }
+    }
 
-        GlassworkMetrics.recordClientMeshReplace(sizeOf(fresh), sizeOf(copy.mesh()));
-        Log.d("[mesh.replace] replaced mesh @{} bytes={}", origin, sizeOf(copy.mesh()));
+    /** Bytes held by stored meshes. */
+    public static long liveBytes() {
+        return LIVE_BYTES.get();
     }
 
-    /** Get the tracked mesh for {@code origin} (do not close it). */
-    public static @Nullable TrackedMesh get(BlockPos origin) {
-        if (origin == null) return null;
-        return STORE.get(origin.immutable());
+    /** Bytes of captures evicted and not yet recaptured. */
+    public static long evictedBytes() {
+        return EVICTED_BYTES.get();
     }
 
-    /** Mark the entry for {@code origin} as dirty (renderer may refresh dependent state). */
-    public static void markDirty(BlockPos origin) {
-        if (origin == null) return;
-        DIRTY.add(origin.immutable());
-        Log.t("[mesh.markDirty] {}", origin);
+    /** Mark the entry for {@code section} as dirty (renderer may refresh dependent state). */
+    public static void markDirty(long section) {
+        DIRTY.add(section);
+        if (Log.isTraceEnabled()) Log.t("[mesh.markDirty] {}", SectionPos.of(section));
     }
 
     /**
      * Deep-copy a {@link MeshData} by cloning its vertex buffer and draw state.
-     * <p>On failure (stale buffer, etc.), logs and returns a zero-byte mesh with the same format/mode but zero counts.</p>
+     * <p>On failure (stale buffer, etc.), logs, hands any acquired builder back to the pool and returns null; callers
+     * treat that as "no capture".</p>
      */
-    private static TrackedMesh deepCopy(MeshData mesh) {
+    private static @Nullable TrackedMesh deepCopy(MeshData mesh, NativeMemory.Owner owner) {
         final MeshData.DrawState d = mesh.drawState();
+        final long t0 = GlassworkProfiler.begin();
+        ByteBufferBuilder builder = null;
+        int sizeClass = NativeBufferPool.UNPOOLED;
 
         try {
             final ByteBuffer src = mesh.vertexBuffer();
             final int size = src.remaining();
 
-            final ByteBufferBuilder builder = new ByteBufferBuilder(size);
+            sizeClass = NativeBufferPool.sizeClass(size);
+            builder = NativeBufferPool.acquire(size, sizeClass);
             final long dest = builder.reserve(size);
             MemoryUtil.memCopy(MemoryUtil.memAddress(src), dest, size);
 
@@ -112,45 +254,43 @@ public final class TranslucentMeshStore {
                     builder.build(),
                     new MeshData.DrawState(d.format(), d.vertexCount(), d.indexCount(), d.mode(), d.indexType())
             );
-            return new TrackedMesh(copy, builder);
+            final TrackedMesh out = new TrackedMesh(owner, copy, builder, sizeClass);
+            GlassworkProfiler.end(GlassworkProfiler.Phase.COPY, t0);
+            return out;
         } catch (Throwable t) {
-            // Fallback: valid MeshData with zero bytes; avoids crashes downstream.
-            Log.w("[mesh.deepCopy] failed ({}) -> returning zero-length mesh", t.getMessage());
-            final ByteBufferBuilder builder = new ByteBufferBuilder(0);
-            builder.reserve(0);
-            final MeshData copy = new MeshData(
-                    builder.build(),
-                    new MeshData.DrawState(d.format(), 0, 0, d.mode(), d.indexType())
-            );
-            return new TrackedMesh(copy, builder);
+            // build() yields no buffer for zero bytes, so there is no valid empty mesh to fall back to
+            Log.w("[mesh.deepCopy] failed ({}) -> no copy", t.getMessage());
+            if (builder != null) NativeBufferPool.release(builder, sizeClass);
+            return null;
         }
     }
 
-    /** Remove and free the mesh at {@code origin}, if present. */
-    public static void clear(BlockPos origin) {
-        if (origin == null) return;
-        origin = origin.immutable();
-        DIRTY.remove(origin);
-        final TrackedMesh t = STORE.remove(origin);
+    /** Remove and free the mesh at {@code section}, if present. */
+    public static void clear(long section) {
+        DIRTY.remove(section);
+        forgetEvicted(section);
+        final TrackedMesh t = STORE.remove(section);
         if (t != null) {
-            final int bytes = sizeOf(t.mesh());
-            t.close();
+            final int bytes = t.bytes;
+            drop(t);
             GlassworkMetrics.recordClientMeshRemove(bytes, 1);
-            Log.d("[mesh.clear] cleared mesh @{} bytesFreed={}", origin, bytes);
+            Log.d("[mesh.clear] cleared mesh @{} bytesFreed={}", SectionPos.of(section), bytes);
         }
     }
 
     /** Remove and free all tracked meshes. */
     public static void clearAll() {
         DIRTY.clear();
+        EVICTED.clear();
+        EVICTED_BYTES.set(0);
         long totalBytes = 0;
         int count = 0;
-        for (TrackedMesh t : STORE.values()) {
-            totalBytes += sizeOf(t.mesh());
+        // drained before closing; readers holding an acquired reference keep their mesh until release
+        for (TrackedMesh t : STORE.drain()) {
+            totalBytes += t.bytes;
             count++;
-            t.close();
+            drop(t);
         }
-        STORE.clear();
         GlassworkMetrics.recordClientMeshRemove(totalBytes, count);
         Log.d("[mesh.clearAll] cleared {} meshes, bytesFreed={}", count, totalBytes);
     }
@@ -160,13 +300,14 @@ public final class TranslucentMeshStore {
      * <ul>
      *   <li>If {@code a} is null → returns a deep copy of {@code b}.</li>
      *   <li>If formats/modes mismatch, sizes are corrupt, or {@code a} is stale → logs and returns deep copy of {@code b}.</li>
+     *   <li>Null if that copy of {@code b} fails.</li>
      * </ul>
      */
-    public static TrackedMesh merge(@Nullable TrackedMesh a, MeshData b) {
+    public static @Nullable TrackedMesh merge(@Nullable TrackedMesh a, MeshData b) {
         if (a == null) {
             // own a copy of b so we never rely on the caller keeping b alive
-            final TrackedMesh cp = deepCopy(b);
-            GlassworkMetrics.recordClientMeshMerge(0, sizeOf(b), sizeOf(cp.mesh()));
+            final TrackedMesh cp = deepCopy(b, NativeMemory.Owner.MERGED);
+            if (cp != null) GlassworkMetrics.recordClientMeshMerge(0, sizeOf(b), sizeOf(cp.mesh()));
             return cp;
         }
 
@@ -178,12 +319,12 @@ public final class TranslucentMeshStore {
         if (!format.equals(bd.format())) {
             Log.e("[mesh.merge] Vertex formats differ: a={} b={} -> copy(b)", ad.format(), bd.format());
             GlassworkMetrics.recordClientMeshMergeError("format_mismatch");
-            return deepCopy(b);
+            return deepCopy(b, NativeMemory.Owner.MERGED);
         }
         if (ad.mode() != bd.mode()) {
             Log.e("[mesh.merge] Draw modes differ: a={} b={} -> copy(b)", ad.mode(), bd.mode());
             GlassworkMetrics.recordClientMeshMergeError("mode_mismatch");
-            return deepCopy(b);
+            return deepCopy(b, NativeMemory.Owner.MERGED);
         }
 
         final ByteBuffer abuf;
@@ -192,7 +333,7 @@ public final class TranslucentMeshStore {
         } catch (IllegalStateException e) {
             Log.w("[mesh.merge] stale a.vertexBuffer(): {} -> copy(b)", e.getMessage());
             GlassworkMetrics.recordClientMeshMergeError("stale_a");
-            return deepCopy(b);        // tracked went stale; own b safely
+            return deepCopy(b, NativeMemory.Owner.MERGED); // tracked went stale; own b safely
         }
         final ByteBuffer bbuf = b.vertexBuffer();
 
@@ -206,10 +347,11 @@ public final class TranslucentMeshStore {
             Log.e("[mesh.merge] corrupt sizes: aRem={} aBytes={} bRem={} bBytes={} -> copy(b)",
                     abuf.remaining(), aBytes, bbuf.remaining(), bBytes);
             GlassworkMetrics.recordClientMeshMergeError("size_mismatch");
-            return deepCopy(b);
+            return deepCopy(b, NativeMemory.Owner.MERGED);
         }
 
-        final ByteBufferBuilder builder = new ByteBufferBuilder(aBytes + bBytes);
+        final int sizeClass = NativeBufferPool.sizeClass(aBytes + bBytes);
+        final ByteBufferBuilder builder = NativeBufferPool.acquire(aBytes + bBytes, sizeClass);
         final long dest = builder.reserve(aBytes + bBytes);
         MemoryUtil.memCopy(MemoryUtil.memAddress(abuf), dest, aBytes);
         MemoryUtil.memCopy(MemoryUtil.memAddress(bbuf), dest + aBytes, bBytes);
@@ -226,12 +368,82 @@ public final class TranslucentMeshStore {
         );
 
         final MeshData merged = new MeshData(builder.build(), mergedDraw);
-        final TrackedMesh out = new TrackedMesh(merged, builder);
+        final TrackedMesh out = new TrackedMesh(NativeMemory.Owner.MERGED, merged, builder, sizeClass);
         GlassworkMetrics.recordClientMeshMerge(aBytes, bBytes, aBytes + bBytes);
         Log.d("[mesh.merge] merged a({} B)+b({} B) -> {} verts @{} B", aBytes, bBytes, mergedVerts, aBytes + bBytes);
         return out;
     }
 
+    /**
+     * Merge a freshly built injected mesh into the tracked mesh at {@code section} (if any). The tracked mesh is
+     * {@link #acquire acquired} for the duration so a concurrent compile cannot free it mid-copy, without blocking
+     * the store. Safe to call off-thread.
+     *
+     * @param injected builds the injected mesh for the tracked format/mode (BLOCK/QUADS if nothing is tracked);
+     *                 may return null to abort
+     * @return a new mesh owned by the caller, or null if {@code injected} returned null or the merge failed
+     */
+    public static @Nullable TrackedMesh mergeWithTracked(long section,
+                                                         BiFunction<VertexFormat, VertexFormat.Mode, MeshData> injected) {
+        final TrackedMesh tracked = acquire(section);
+        try {
+            final VertexFormat fmt = (tracked != null) ? tracked.mesh().drawState().format() : DefaultVertexFormat.BLOCK;
+            final VertexFormat.Mode mode = (tracked != null) ? tracked.mesh().drawState().mode() : VertexFormat.Mode.QUADS;
+            final MeshData b = injected.apply(fmt, mode);
+            if (b == null) return null;
+            final MeshMergeEvent event = new MeshMergeEvent();
+            event.begin();
+            final long t0 = GlassworkProfiler.begin();
+            final TrackedMesh merged = merge(tracked, b);
+            GlassworkProfiler.end(GlassworkProfiler.Phase.MERGE, t0);
+            if (merged != null && event.shouldCommit()) {
+                event.section(section);
+                event.quads = b.drawState().vertexCount() / 4;
+                event.bytes = merged.bytes;
+                event.commit();
+            }
+            return merged;
+        } finally {
+            if (tracked != null) tracked.release();
+        }
+    }
+
+    /** Deep copy of the tracked mesh at {@code section}, or null if none or the copy failed. Caller owns it. */
+    public static @Nullable TrackedMesh copyOf(long section) {
+        final TrackedMesh tracked = acquire(section);
+        if (tracked == null) return null;
+        try {
+            return deepCopy(tracked.mesh(), NativeMemory.Owner.MERGED);
+        } finally {
+            tracked.release();
+        }
+    }
+
+    private static Long2IntOpenHashMap newEvictedMap() {
+        final Long2IntOpenHashMap m = new Long2IntOpenHashMap();
+        m.defaultReturnValue(-1);
+        return m;
+    }
+
+    /** Drop the eviction record of {@code section}; true if it had one. */
+    private static boolean forgetEvicted(long section) {
+        final int bytes = EVICTED.remove(section);
+        if (bytes < 0) return false;
+        EVICTED_BYTES.addAndGet(-bytes);
+        return true;
+    }
+
+    /** Account a mesh that is about to be stored. */
+    private static void adopt(TrackedMesh t) {
+        LIVE_BYTES.addAndGet(t.bytes);
+    }
+
+    /** Un-account and close a mesh that was removed from the store. */
+    private static void drop(TrackedMesh t) {
+        LIVE_BYTES.addAndGet(-t.bytes);
+        t.close();
+    }
+
     /** Best-effort size of a mesh's vertex buffer (bytes). */
     private static int sizeOf(MeshData mesh) {
         try {
@@ -242,21 +454,66 @@ public final class TranslucentMeshStore {
         }
     }
 
-    /** A mesh plus its owning {@link ByteBufferBuilder}. Call {@link #close()} to free native memory (idempotent). */
+    /**
+     * A mesh plus its owning {@link ByteBufferBuilder}. The store (or whoever built it) holds one reference and drops
+     * it with {@link #close()} (idempotent); readers add short-lived references via {@link #acquire}. When the last
+     * reference goes the builder is returned to the {@link NativeBufferPool} (or freed if it was not pooled).
+     */
     public static final class TrackedMesh implements AutoCloseable {
         private final MeshData mesh;
         private final ByteBufferBuilder builder;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicInteger refs = new AtomicInteger(1);
+        private final int sizeClass;
+        private final int bytes;
+        private final NativeMemory.Allocation allocation;
+        /** Frame the owning section was last rendered in (render thread). */
+        private long lastRendered;
+
+        public TrackedMesh(NativeMemory.Owner owner, MeshData mesh, ByteBufferBuilder builder) {
+            this(owner, mesh, builder, NativeBufferPool.UNPOOLED);
+        }
 
-        public TrackedMesh(MeshData mesh, ByteBufferBuilder builder) {
+        /**
+         * @param owner     what the builder's native memory is accounted to until the last reference is released
+         * @param sizeClass pool class {@code builder} was {@link NativeBufferPool#acquire acquired} with
+         */
+        public TrackedMesh(NativeMemory.Owner owner, MeshData mesh, ByteBufferBuilder builder, int sizeClass) {
             this.mesh = mesh;
             this.builder = builder;
+            this.sizeClass = sizeClass;
+            this.bytes = sizeOf(mesh);
+            this.allocation = NativeMemory.allocate(this, owner, builder);
+            this.lastRendered = frame;
         }
 
         /** Borrowed reference; do not free externally. */
         public MeshData mesh() { return mesh; }
 
+        /** Vertex bytes of the mesh. */
+        public int bytes() { return bytes; }
+
+        /** Add a reference unless the mesh was already freed. */
+        boolean retain() {
+            for (;;) {
+                final int r = refs.get();
+                if (r <= 0) return false;
+                if (refs.compareAndSet(r, r + 1)) return true;
+            }
+        }
+
+        /** Drop a reference taken with {@link TranslucentMeshStore#acquire}. */
+        public void release() {
+            if (refs.decrementAndGet() == 0) {
+                allocation.free();
+                if (builder != null) NativeBufferPool.release(builder, sizeClass);
+            }
+            Reference.reachabilityFence(this); // keep the leak detector from seeing this mesh as dropped mid-release
+        }
+
         @Override public void close() {
-            if (builder != null) builder.close();
+            // may race between a build worker and the render thread; drop the owner reference exactly once
+            if (closed.compareAndSet(false, true)) release();
         }
     }
-}
\ No newline at end of file
+}
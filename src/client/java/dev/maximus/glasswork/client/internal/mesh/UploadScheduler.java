@@ -0,0 +1,128 @@
+package dev.maximus.glasswork.client.internal.mesh;
+
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.util.Log;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.SectionPos;
+
+/**
+ * Caps the injected-mesh upload work the render thread does per frame, so a burst of changed sections (teleport,
+ * bulk load, resource reload) is spread over several frames instead of stalling one.
+ * <p>Every finished build asks to be {@link #admit admitted} before it is sorted and uploaded. A frame admits uploads
+ * until {@link GlassworkConfig#uploadBudgetBytes()} or {@link GlassworkConfig#uploadBudgetNanos()} is spent; the
+ * first upload of a frame always goes through, so a section larger than the budget does not starve. Sections turned
+ * away keep drawing their last upload; at {@link #endFrame} they are ordered nearest-first and the nearest that fit
+ * the byte budget are granted the next frame. Granted bytes are reserved: other sections are admitted only from what
+ * is left after them. Grants are charged against both budgets like any upload; one that no longer fits is turned
+ * away and competes again at the next {@code endFrame}, and reservations of grants that never ask lapse with the
+ * frame. Only sections the renderer visits (i.e. visible ones) ever ask.</p>
+ * <p>Render thread only.</p>
+ */
+public final class UploadScheduler {
+    /** Sections admitted this frame; asking twice in one frame (isEmpty, then getBuffer) answers the same. */
+    private static final LongOpenHashSet ADMITTED = new LongOpenHashSet();
+    /** Section → reserved bytes, for the nearest sections deferred last frame. */
+    private static final Long2IntOpenHashMap GRANTED = new Long2IntOpenHashMap();
+    /** Section → bytes of its ready upload, for sections turned away this frame. */
+    private static final Long2IntOpenHashMap WAITING = new Long2IntOpenHashMap();
+
+    private static long spentBytes;
+    private static long spentNanos;
+    /** Bytes of {@link #GRANTED} sections that have not asked yet this frame. */
+    private static long reservedBytes;
+    private static int queueDepth;
+
+    private UploadScheduler() {}
+
+    /**
+     * May the ready mesh of {@code section} ({@code bytes} large) be uploaded this frame? A false answer is counted
+     * as deferred and queues the section for a grant next frame.
+     */
+    public static boolean admit(long section, int bytes) {
+        if (ADMITTED.contains(section)) return true;
+        final int size = Math.max(0, bytes);
+        final long byteBudget = GlassworkConfig.uploadBudgetBytes();
+        final long nanoBudget = GlassworkConfig.uploadBudgetNanos();
+        final boolean granted = GRANTED.containsKey(section);
+        if (granted) reservedBytes -= GRANTED.remove(section);
+
+        final boolean ok;
+        if (byteBudget <= 0 && nanoBudget <= 0) {
+            ok = true;
+        } else if (ADMITTED.isEmpty() && (granted || GRANTED.isEmpty())) {
+            ok = true; // first upload of the frame; a grant, or nothing reserved ahead of it
+        } else {
+            ok = (byteBudget <= 0 || spentBytes + reservedBytes + size <= byteBudget)
+                    && (nanoBudget <= 0 || spentNanos < nanoBudget);
+        }
+        if (!ok) {
+            if (!WAITING.containsKey(section)) GlassworkMetrics.recordClientUploadDeferred();
+            WAITING.put(section, size);
+            return false;
+        }
+        ADMITTED.add(section);
+        spentBytes += size;
+        return true;
+    }
+
+    /** Account render-thread time spent sorting and uploading an admitted mesh. */
+    public static void recordUpload(long nanos) {
+        spentNanos += nanos;
+    }
+
+    /**
+     * Frame upkeep (after the translucent layer): grant this frame's deferred sections nearest-first within the byte
+     * budget, then reset the budgets.
+     */
+    public static void endFrame(double camX, double camY, double camZ) {
+        GRANTED.clear();
+        reservedBytes = 0;
+        queueDepth = WAITING.size();
+        if (!WAITING.isEmpty()) {
+            final long[] keys = WAITING.keySet().toLongArray();
+            final double[] dist = new double[keys.length];
+            final int[] order = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                final long k = keys[i];
+                final double dx = SectionPos.sectionToBlockCoord(SectionPos.x(k), 8) - camX;
+                final double dy = SectionPos.sectionToBlockCoord(SectionPos.y(k), 8) - camY;
+                final double dz = SectionPos.sectionToBlockCoord(SectionPos.z(k), 8) - camZ;
+                dist[i] = dx * dx + dy * dy + dz * dz;
+                order[i] = i;
+            }
+            IntArrays.quickSort(order, (a, b) -> Double.compare(dist[a], dist[b]));
+
+            final long byteBudget = GlassworkConfig.uploadBudgetBytes();
+            for (int i : order) {
+                final int bytes = WAITING.get(keys[i]);
+                if (!GRANTED.isEmpty() && byteBudget > 0 && reservedBytes + bytes > byteBudget) break;
+                GRANTED.put(keys[i], bytes);
+                reservedBytes += bytes;
+            }
+            if (Log.isTraceEnabled()) {
+                Log.t("[upload.schedule] deferred={} granted={} ({} B) spent={} B/{} us",
+                        keys.length, GRANTED.size(), reservedBytes, spentBytes, spentNanos / 1000);
+            }
+            WAITING.clear();
+        }
+        ADMITTED.clear();
+        spentBytes = 0;
+        spentNanos = 0;
+    }
+
+    /** Sections that were turned away in the last finished frame. */
+    public static int queueDepth() {
+        return queueDepth;
+    }
+
+    public static void clear() {
+        ADMITTED.clear();
+        GRANTED.clear();
+        WAITING.clear();
+        reservedBytes = 0;
+        queueDepth = 0;
+    }
+}
@@ -1,11 +1,21 @@
 package dev.maximus.glasswork.client.internal.mixin;
 
 import com.llamalad7.mixinextras.sugar.Local;
+import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.vertex.*;
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.GlassworkProfiler;
 import dev.maximus.glasswork.api.GlassworkAPI;
-import dev.maximus.glasswork.api.InjectedQuad;
-import dev.maximus.glasswork.api.QuadVertex;
+import dev.maximus.glasswork.client.internal.jfr.SectionUploadEvent;
+import dev.maximus.glasswork.client.internal.mesh.MeshBuildDispatcher;
+import dev.maximus.glasswork.client.internal.mesh.PackedQuads;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
+import dev.maximus.glasswork.client.internal.mesh.SectionMeshCache;
 import dev.maximus.glasswork.client.internal.mesh.TranslucentMeshStore;
+import dev.maximus.glasswork.client.internal.mesh.UploadScheduler;
+import dev.maximus.glasswork.client.internal.render.FrameQuadRenderer;
+import dev.maximus.glasswork.client.internal.render.TiledQuadRenderer;
 import dev.maximus.glasswork.util.Log;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.client.Minecraft;
@@ -15,23 +25,31 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL15;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Injects translucent geometry into section rendering without forcing a full vanilla rebuild.
  * Two redirections:
  * <ol>
- *   <li><b>isEmpty override</b> – reports the translucent layer as non-empty if we have user quads or a tracked VBO.</li>
- *   <li><b>getBuffer redirect</b> – builds/merges/sorts and uploads a one-off translucent mesh into the section VBO.</li>
+ *   <li><b>isEmpty override</b> – reports the translucent layer as non-empty once an injected mesh is ready.</li>
+ *   <li><b>getBuffer redirect</b> – picks up the mesh built off-thread by {@link MeshBuildDispatcher}, sorts and
+ *   uploads it into the section VBO, once per generation (see {@link SectionMeshCache}) and within the per-frame
+ *   budget of {@link UploadScheduler}.</li>
  * </ol>
+ * After the translucent layer, shader-tiled section quads are drawn by {@link TiledQuadRenderer} and the per-frame
+ * quads from {@link GlassworkAPI#submitFrameQuad} by {@link FrameQuadRenderer}.
  * Fail-safety: any failure in build/merge/sort/upload returns the vanilla VBO (or null) so the frame continues.
  */
 @Mixin(net.minecraft.client.renderer.LevelRenderer.class)
@@ -40,7 +58,7 @@ public class LevelRendererMixin {
     @Shadow @Final private ObjectArrayList<SectionRenderDispatcher.RenderSection> visibleSections;
 
     /**
-     * If vanilla thinks the section is empty for the translucent layer, check our sources (quads/tracked/VBO)
+     * If vanilla thinks the section is empty for the translucent layer, check our sources (quads/finished build)
      * and force non-empty so the renderer asks us for a buffer.
      */
     @Redirect(
@@ -55,23 +73,47 @@ public class LevelRendererMixin {
         if (layer != RenderType.translucent() || section == null) return vanillaEmpty;
 
         if (!vanillaEmpty) return false; // vanilla already has translucent geometry
+        if (!SectionContentIndex.mayContain(section.getOrigin())) return true; // nothing of ours here
 
-        final SectionPos sec = SectionPos.of(section.getOrigin());
-        final boolean haveQuads    = !GlassworkAPI._getQuads(sec).isEmpty();
-        final boolean haveVbo      = ((RenderSectionAccessor) section).getBufferMap().get(RenderType.translucent()) != null;
-        final boolean haveTracked  = TranslucentMeshStore.get(section.getOrigin()) != null;
-        final boolean needsUpload  = GlassworkAPI._needsUpload(sec);
+        // Vanilla has nothing here: only draw once a finished injected mesh can be uploaded into the VBO
+        // (an un-uploaded VBO must never be drawn). Kicks off the background build if none is running.
+        final long sec = SectionPos.asLong(section.getOrigin());
+        if (glasswork$bakedByVanilla(section, SectionMeshCache.get(sec))) return true;
+        final int version = GlassworkAPI._version(sec);
+        final PackedQuads quads = GlassworkAPI._getPacked(sec);
+        final boolean haveQuads = !quads.isEmpty();
+        final boolean ready     = haveQuads && MeshBuildDispatcher.request(sec, version, quads, SectionMeshCache.getOrCreate(sec))
+                && UploadScheduler.admit(sec, MeshBuildDispatcher.readyBytes(sec, version));
 
-        // Non-empty if we either have quads and (somewhere to put them OR need to upload)
-        final boolean nonEmpty = haveQuads && (haveTracked || haveVbo || needsUpload);
-        Log.t("[mixin.isEmpty] sec={} quads={} vbo={} tracked={} needsUp={} -> nonEmpty={}",
-                sec, haveQuads, haveVbo, haveTracked, needsUpload, nonEmpty);
+        final boolean nonEmpty = haveQuads && ready;
+        if (Log.isTraceEnabled()) {
+            final boolean haveVbo = ((RenderSectionAccessor) section).getBufferMap().get(RenderType.translucent()) != null;
+            Log.t("[mixin.isEmpty] sec={} quads={} vbo={} ready={} -> nonEmpty={}",
+                    SectionPos.of(sec), haveQuads, haveVbo, ready, nonEmpty);
+        }
 
         return !nonEmpty;
     }
 
+    /** Draw tiled section quads and this frame's transient quads right after the translucent section layer. */
+    @Inject(
+            method = "renderSectionLayer(Lnet/minecraft/client/renderer/RenderType;DDDLorg/joml/Matrix4f;Lorg/joml/Matrix4f;)V",
+            at = @At("TAIL")
+    )
+    private void glasswork$renderFrameQuads(RenderType layer, double camX, double camY, double camZ,
+                                            Matrix4f frustumMatrix, Matrix4f projectionMatrix, CallbackInfo ci) {
+        if (layer != RenderType.translucent()) return;
+        TiledQuadRenderer.render(this.visibleSections, camX, camY, camZ, frustumMatrix, projectionMatrix);
+        FrameQuadRenderer.render(camX, camY, camZ, frustumMatrix, projectionMatrix);
+        TranslucentMeshStore.endFrame(camX, camY, camZ);
+        UploadScheduler.endFrame(camX, camY, camZ);
+        GlassworkProfiler.endFrame();
+    }
+
     /**
      * When the renderer asks for the translucent buffer, inject our combined/merged mesh into the section VBO.
+     * Upload-once: the merged mesh is only rebuilt and uploaded when the section generation moves or vanilla
+     * replaced the section's compiled state/VBO; otherwise the VBO from the previous upload is returned as-is.
      * On any failure, returns the vanilla VBO (or null) to avoid breaking the frame.
      */
     @Redirect(
@@ -86,70 +128,64 @@ public class LevelRendererMixin {
         }
 
         final BlockPos origin = section.getOrigin();
-        final SectionPos secPos = SectionPos.of(origin);
         final Map<RenderType, VertexBuffer> origMap = ((RenderSectionAccessor) section).getBufferMap();
+        if (!SectionContentIndex.mayContain(origin)) return origMap.get(layer); // untouched section: one array read
+
+        final long sec = SectionPos.asLong(origin);
         VertexBuffer vanillaVbo = origMap.get(RenderType.translucent());
+        final @Nullable SectionMeshCache.Entry cached = SectionMeshCache.get(sec);
+        if (glasswork$bakedByVanilla(section, cached)) return vanillaVbo;
+        TranslucentMeshStore.touch(sec); // keeps the capture from eviction, recaptures if it was evicted
 
-        // Fast exit if nothing to do
-        final List<InjectedQuad> quads = GlassworkAPI._getQuads(secPos);
-        if (quads.isEmpty()) return vanillaVbo;
+        // Quads were removed since our last upload → put vanilla's own translucent state back
+        final int version = GlassworkAPI._version(sec);
+        final PackedQuads quads = GlassworkAPI._getPacked(sec);
+        if (quads.isEmpty()) {
+            if (cached != null) glasswork$restoreVanilla(section, sec, cached, vanillaVbo);
+            return vanillaVbo;
+        }
 
-        // Choose a vertex format/mode: prefer the tracked mesh if present
-        final @Nullable TranslucentMeshStore.TrackedMesh tracked = TranslucentMeshStore.get(origin);
-        final VertexFormat fmt  = (tracked != null) ? tracked.mesh().drawState().format() : DefaultVertexFormat.BLOCK;
-        final VertexFormat.Mode mode = (tracked != null) ? tracked.mesh().drawState().mode()   : VertexFormat.Mode.QUADS;
+        // Fast exit: VBO still holds our last upload and the geometry is unchanged (patch colors/light in place,
+        // re-sort indices only if we moved)
+        final boolean current = cached != null && cached.isCurrent(section.getCompiled(), vanillaVbo);
+        if (current && !GlassworkAPI._needsUpload(sec)) {
+            glasswork$patchAttributes(cached, sec, vanillaVbo);
+            glasswork$resortIfMoved(cached, sec, vanillaVbo);
+            return vanillaVbo;
+        }
 
-        // Estimate a conservative buffer size: vertices * bytesPerVertex (cap at min 1k)
-        final int estimate = Math.max(1024, quads.size() * 4 * fmt.getVertexSize());
-        ByteBufferBuilder backing = null;
-        MeshData injected = null;
-        TranslucentMeshStore.TrackedMesh mergedTracked = null;
+        // Vanilla's translucent mesh is not captured (yet, or again after eviction): keep drawing what the VBO holds
+        // until the forced recompile lands rather than overwrite it with injected-only data
+        final SectionRenderDispatcher.CompiledSection vanillaCompiled = section.getCompiled();
+        if (((CompiledSectionAccessor) vanillaCompiled).getHasBlocks().contains(RenderType.translucent())
+                && (cached == null || !cached.ownsCompiled(vanillaCompiled))
+                && SectionContentIndex.has(sec, SectionContentIndex.CAPTURE_PENDING)) {
+            return vanillaVbo;
+        }
 
-        try {
-            // 1) Build injected mesh from quads
-            backing = new ByteBufferBuilder(estimate);
-            final BufferBuilder builder = new BufferBuilder(backing, mode, fmt);
-
-            // Note: avoid logging in this loop; can be hot when many quads
-            for (InjectedQuad q : quads) {
-                if (q == null) continue; // be tolerant of bad inputs
-                final QuadVertex v1 = q.v1(), v2 = q.v2(), v3 = q.v3(), v4 = q.v4();
-                // Local-space to section origin
-                addVertex(builder, v1, origin);
-                addVertex(builder, v2, origin);
-                addVertex(builder, v3, origin);
-                addVertex(builder, v4, origin);
-            }
-            injected = builder.buildOrThrow();
-
-            // 2) Merge with any tracked mesh
-            MeshData merged = injected;
-            if (tracked != null) {
-                try {
-                    mergedTracked = TranslucentMeshStore.merge(tracked, injected);
-                    merged = mergedTracked.mesh();
-                } catch (Throwable mergeErr) {
-                    // merge() logs specifics; fall back to just our injected mesh
-                    Log.w("[mixin.getBuffer] merge failed sec={}: {}", secPos, mergeErr.getMessage());
-                    mergedTracked = null;
-                    merged = injected;
-                }
-            }
+        // Updated again within its coalescing window: keep the last upload, the build waits for the newest generation
+        if (current && cached.withinWindow(GlassworkAPI._updateWindowNanos(sec))) {
+            glasswork$resortIfMoved(cached, sec, vanillaVbo);
+            return vanillaVbo;
+        }
+
+        // Encode + merge run on the build pool; until the result lands keep drawing what the VBO already holds
+        final SectionMeshCache.Entry entry = (cached != null) ? cached : SectionMeshCache.getOrCreate(sec);
+        if (!MeshBuildDispatcher.request(sec, version, quads, entry)) {
+            if (current) glasswork$resortIfMoved(entry, sec, vanillaVbo);
+            return vanillaVbo;
+        }
+        // Over this frame's upload budget: keep the last good upload on screen, the nearest waiting go first next frame
+        if (!UploadScheduler.admit(sec, MeshBuildDispatcher.readyBytes(sec, version))) {
+            if (current) glasswork$resortIfMoved(entry, sec, vanillaVbo);
+            return vanillaVbo;
+        }
+        final @Nullable MeshBuildDispatcher.Built built = MeshBuildDispatcher.take(sec, version);
+        if (built == null) return vanillaVbo; // build failed (logged) or was cancelled; retried next frame
+        final TranslucentMeshStore.TrackedMesh merged = built.mesh();
 
-            // 3) Sort by camera distance using the fixed translucent buffer as scratch
-            final SectionRenderDispatcher dispatcher = this.minecraft.levelRenderer.getSectionRenderDispatcher();
-            final var fixed = ((SectionRenderDispatcherAccessor) dispatcher).getFixedBuffers();
-            final Vec3 cam = this.minecraft.gameRenderer.getMainCamera().getPosition();
-            final MeshData.SortState sortState = merged.sortQuads(
-                    fixed.buffer(RenderType.translucent()),
-                    VertexSorting.byDistance(
-                            (float) (cam.x - origin.getX()),
-                            (float) (cam.y - origin.getY()),
-                            (float) (cam.z - origin.getZ())
-                    )
-            );
-
-            // 4) Ensure the buffer map is mutable before inserting our VBO
+        try {
+            // 1) Ensure the buffer map is mutable before inserting our VBO
             Map<RenderType, VertexBuffer> map = origMap;
             final boolean needClone = (map == java.util.Collections.EMPTY_MAP) || !(map instanceof HashMap<?, ?>);
             if (needClone) {
@@ -158,64 +194,216 @@ public class LevelRendererMixin {
                 vanillaVbo = map.get(RenderType.translucent()); // refresh lookup if we replaced map
             }
 
-            // 5) Upload merged mesh into the section VBO
+            // 2) Sort + upload merged mesh into the section VBO
             final VertexBuffer vbo = (vanillaVbo != null) ? vanillaVbo : new VertexBuffer(VertexBuffer.Usage.STATIC);
-            try {
-                vbo.bind();
-                vbo.upload(merged);
-            } finally {
-                VertexBuffer.unbind();
+            entry.markLayout(built);
+            final SectionUploadEvent event = new SectionUploadEvent();
+            event.begin();
+            final long uploadStart = System.nanoTime();
+            final MeshData.SortState sortState = glasswork$sortAndUpload(merged.mesh(), origin, vbo, entry);
+            UploadScheduler.recordUpload(System.nanoTime() - uploadStart);
+            if (event.shouldCommit()) {
+                event.section(sec);
+                event.quads = built.quads().size();
+                event.bytes = merged.bytes();
+                event.commit();
             }
             if (vanillaVbo == null) map.put(RenderType.translucent(), vbo);
 
-            // 6) Ensure compiled section and mark translucent present + sort state
+            // 3) Ensure compiled section and mark translucent present + sort state
             SectionRenderDispatcher.CompiledSection compiled = section.getCompiled();
+            boolean ownCompiled = entry.ownsCompiled(compiled);
             if (compiled == null || ((CompiledSectionAccessor) compiled).getHasBlocks().isEmpty()) {
                 final SectionRenderDispatcher.CompiledSection fresh = new SectionRenderDispatcher.CompiledSection();
                 ((RenderSectionAccessor) section).invokeSetCompiled(fresh);
                 compiled = fresh;
+                ownCompiled = true;
             }
             ((CompiledSectionAccessor) compiled).getHasBlocks().add(RenderType.translucent());
             ((CompiledSectionAccessor) compiled).setTransparencyState(sortState);
 
-            // 7) Mark uploaded → prevents repeat work until version bumps
-            GlassworkAPI._markUploaded(secPos);
+            // 4) Mark the built version uploaded → prevents repeat work until version bumps or vanilla re-uploads
+            entry.markUploaded(compiled, vbo, ownCompiled, version);
+            GlassworkAPI._markUploaded(sec, version, built.quads());
 
-            Log.d("[mixin.getBuffer] uploaded sec={} quads={} mode={} fmt={}", secPos, quads.size(), mode, fmt);
+            Log.d("[mixin.getBuffer] uploaded sec={} v={} quads={}", origin, version, built.quads().size());
             return vbo;
 
         } catch (Throwable t) {
             // Any failure → fall back to vanilla VBO; keep the frame alive
-            Log.e(t, "[mixin.getBuffer] upload failed sec={} (returning vanilla VBO)", secPos);
+            Log.e(t, "[mixin.getBuffer] upload failed sec=%s (returning vanilla VBO)", origin);
+            SectionMeshCache.remove(sec);
             return vanillaVbo;
         } finally {
-            // Free temporary/merged native buffers
+            // Free the merged native buffer (the cached injected mesh stays alive)
             try {
-                if (mergedTracked != null) mergedTracked.close();
+                merged.close();
             } catch (Throwable closeErr) {
-                Log.d("[mixin.getBuffer] mergedTracked.close() failed: {}", closeErr.getMessage());
+                Log.d("[mixin.getBuffer] merged.close() failed: {}", closeErr.getMessage());
             }
+        }
+    }
+
+    /**
+     * Our quads are gone: drop the cache entry and put vanilla's translucent mesh back into the VBO.
+     * If vanilla had no translucent geometry, un-flag the layer on the compiled section we populated.
+     */
+    @Unique
+    private void glasswork$restoreVanilla(SectionRenderDispatcher.RenderSection section, long sec,
+                                          SectionMeshCache.Entry cached, @Nullable VertexBuffer vbo) {
+        final SectionRenderDispatcher.CompiledSection compiled = section.getCompiled();
+        final boolean ours = cached.isCurrent(compiled, vbo);
+        SectionMeshCache.remove(sec);
+        if (!ours) return; // vanilla already re-uploaded this section
+
+        final BlockPos origin = section.getOrigin();
+        final @Nullable TranslucentMeshStore.TrackedMesh copy = (vbo != null) ? TranslucentMeshStore.copyOf(sec) : null;
+        if (copy == null) {
+            ((CompiledSectionAccessor) compiled).getHasBlocks().remove(RenderType.translucent());
+            ((CompiledSectionAccessor) compiled).setTransparencyState(null);
+            Log.d("[mixin.restore] un-flagged translucent @{}", origin);
+            return;
+        }
+
+        try (copy) {
+            ((CompiledSectionAccessor) compiled).setTransparencyState(glasswork$sortAndUpload(copy.mesh(), origin, vbo, null));
+            Log.d("[mixin.restore] re-uploaded vanilla mesh @{}", origin);
+        } catch (Throwable t) {
+            Log.e(t, "[mixin.restore] failed @%s", origin);
+        }
+    }
+
+    /**
+     * Sort by camera distance using the fixed translucent buffer as scratch, then upload (consumes {@code mesh}).
+     * Records the sort state on {@code entry} so later frames can re-sort indices without a re-upload.
+     */
+    @Unique
+    private MeshData.SortState glasswork$sortAndUpload(MeshData mesh, BlockPos origin, VertexBuffer vbo,
+                                                       @Nullable SectionMeshCache.Entry entry) {
+        final Vec3 cam = this.minecraft.gameRenderer.getMainCamera().getPosition();
+        final long sortStart = GlassworkProfiler.begin();
+        final MeshData.SortState sortState = mesh.sortQuads(glasswork$sortScratch(), glasswork$sorting(cam, origin));
+        GlassworkProfiler.end(GlassworkProfiler.Phase.SORT, sortStart);
+        final long uploadStart = GlassworkProfiler.begin();
+        try {
+            vbo.bind();
+            vbo.upload(mesh);
+        } finally {
+            VertexBuffer.unbind();
+        }
+        GlassworkProfiler.end(GlassworkProfiler.Phase.UPLOAD, uploadStart);
+        if (entry != null) entry.markSorted(sortState, cam.x, cam.y, cam.z);
+        return sortState;
+    }
+
+    /**
+     * Rebuild only the index buffer from the cached sort state, and only once the camera crossed the configured
+     * distance/cell threshold for this section. Vertex data in the VBO is left untouched.
+     */
+    @Unique
+    private void glasswork$resortIfMoved(SectionMeshCache.Entry entry, long sec, VertexBuffer vbo) {
+        final Vec3 cam = this.minecraft.gameRenderer.getMainCamera().getPosition();
+        if (!entry.needsResort(cam.x, cam.y, cam.z, sec)) return;
+
+        final MeshData.SortState state = entry.sortState();
+        try {
+            final ByteBufferBuilder.Result indices = state.buildSortedIndexBuffer(glasswork$sortScratch(), glasswork$sorting(cam, sec));
+            if (indices == null) return;
             try {
-                if (injected != null) injected.close();
-            } catch (Throwable closeErr) {
-                Log.d("[mixin.getBuffer] injected.close() failed: {}", closeErr.getMessage());
+                vbo.bind();
+                vbo.uploadIndexBuffer(indices);
+            } finally {
+                VertexBuffer.unbind();
             }
-            try {
-                if (backing != null) backing.close();
-            } catch (Throwable closeErr) {
-                Log.d("[mixin.getBuffer] backing.close() failed: {}", closeErr.getMessage());
+            entry.markSorted(state, cam.x, cam.y, cam.z);
+            GlassworkMetrics.recordClientResort();
+        } catch (Throwable t) {
+            // Keep the previous index order; a later upload will re-sort from scratch
+            Log.d("[mixin.resort] failed @{}: {}", SectionPos.of(sec), t.getMessage());
+            entry.markSorted(null, cam.x, cam.y, cam.z);
+        }
+    }
+
+    /**
+     * Colors/light of some injected quads changed without a geometry change: overwrite just that vertex range of the
+     * VBO with one {@code glBufferSubData}, staged in the sort scratch buffer. Positions are unchanged, so the index
+     * order stays valid (no re-sort).
+     * <p>Only patches while the section is still at the generation that was uploaded, so the snapshot read has the
+     * uploaded geometry; otherwise the pending rebuild carries the new attributes. Falls back to a full rebuild
+     * (generation bump) if the layout of the upload is unknown or the patch fails.</p>
+     */
+    @Unique
+    private void glasswork$patchAttributes(SectionMeshCache.Entry entry, long sec, VertexBuffer vbo) {
+        final long range = GlassworkAPI._takePatchedRange(sec);
+        if (range == GlassworkAPI.NO_RANGE) return;
+        final int uploaded = entry.uploadedQuadCount();
+        final int from = (int) (range >>> 32);
+        final int to = Math.min((int) range, uploaded);
+        if (from >= to) return;
+        final int base = entry.injectedBase();
+        final @Nullable PackedQuads quads = GlassworkAPI._patchSource(sec, entry.uploadedVersion());
+        if (quads == null) return; // geometry moved on since the upload
+        if (base < 0 || quads.size() != uploaded) {
+            GlassworkAPI._bumpGeneration(sec);
+            return;
+        }
+
+        final int bytes = (to - from) * PackedQuads.INTS_PER_QUAD * Integer.BYTES;
+        final ByteBufferBuilder scratch = glasswork$sortScratch();
+        try {
+            quads.copyRangeTo(from, to, scratch.reserve(bytes));
+            try (ByteBufferBuilder.Result staged = scratch.build()) {
+                GlStateManager._glBindBuffer(GL15.GL_ARRAY_BUFFER, ((VertexBufferAccessor) vbo).getVertexBufferId());
+                GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, (long) (base + from * 4) * PackedQuads.BYTES_PER_VERTEX,
+                        staged.byteBuffer());
             }
+            GlassworkMetrics.recordClientAttributePatch(bytes);
+            if (Log.isTraceEnabled()) Log.t("[mixin.patch] sec={} quads=[{}, {}) bytes={}", SectionPos.of(sec), from, to, bytes);
+        } catch (Throwable t) {
+            scratch.discard();
+            Log.d("[mixin.patch] failed @{}: {} -> full rebuild", SectionPos.of(sec), t.getMessage());
+            GlassworkAPI._bumpGeneration(sec);
+        } finally {
+            GlStateManager._glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
         }
     }
 
-    /** Add a vertex to the {@link BufferBuilder}, translating from world to section-local space. */
-    private static void addVertex(BufferBuilder builder, QuadVertex v, BlockPos origin) {
-        if (v == null) return;
-        builder.addVertex(v.x() - origin.getX(), v.y() - origin.getY(), v.z() - origin.getZ())
-                .setColor(v.color())
-                .setUv(v.u(), v.v())
-                .setOverlay(v.overlay())
-                .setLight(v.light())
-                .setNormal(v.nx(), v.ny(), v.nz());
+    /**
+     * In {@link GlassworkConfig.InjectionMode#COMPILE} mode quads are baked into vanilla's own compile, so the
+     * section is left alone; only sections vanilla never compiles ({@code EMPTY}, or a compiled state we created
+     * for them) keep using the merge path.
+     */
+    @Unique
+    private static boolean glasswork$bakedByVanilla(SectionRenderDispatcher.RenderSection section,
+                                                    @Nullable SectionMeshCache.Entry cached) {
+        if (GlassworkConfig.injectionMode() != GlassworkConfig.InjectionMode.COMPILE) return false;
+        final SectionRenderDispatcher.CompiledSection compiled = section.getCompiled();
+        if (compiled == SectionRenderDispatcher.CompiledSection.EMPTY) return false;
+        return cached == null || !cached.ownsCompiled(compiled);
+    }
+
+    /** Fixed translucent buffer of the dispatcher; render-thread scratch for index buffers. */
+    @Unique
+    private ByteBufferBuilder glasswork$sortScratch() {
+        final SectionRenderDispatcher dispatcher = this.minecraft.levelRenderer.getSectionRenderDispatcher();
+        return ((SectionRenderDispatcherAccessor) dispatcher).getFixedBuffers().buffer(RenderType.translucent());
+    }
+
+    @Unique
+    private static VertexSorting glasswork$sorting(Vec3 cam, BlockPos origin) {
+        return VertexSorting.byDistance(
+                (float) (cam.x - origin.getX()),
+                (float) (cam.y - origin.getY()),
+                (float) (cam.z - origin.getZ())
+        );
+    }
+
+    @Unique
+    private static VertexSorting glasswork$sorting(Vec3 cam, long sec) {
+        return VertexSorting.byDistance(
+                (float) (cam.x - SectionPos.sectionToBlockCoord(SectionPos.x(sec))),
+                (float) (cam.y - SectionPos.sectionToBlockCoord(SectionPos.y(sec))),
+                (float) (cam.z - SectionPos.sectionToBlockCoord(SectionPos.z(sec)))
+        );
     }
-}
\ No newline at end of file
+}
@@ -17,6 +17,6 @@ public abstract class RenderSectionDirtyMixin {
 
     @Inject(method = "setDirty(Z)V", at = @At("HEAD"))
     private void glasswork$onSetDirty(boolean bl, CallbackInfo ci) {
-        GlassworkAPI._clearSection(SectionPos.of(this.getOrigin()));
+        GlassworkAPI._clearSection(SectionPos.asLong(this.getOrigin()));
     }
 }
@@ -1,33 +1,99 @@
 package dev.maximus.glasswork.client.internal.mixin;
 
+import com.llamalad7.mixinextras.sugar.Local;
+import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.mojang.blaze3d.vertex.MeshData;
 import com.mojang.blaze3d.vertex.VertexSorting;
+import dev.maximus.glasswork.GlassworkConfig;
+import dev.maximus.glasswork.GlassworkProfiler;
 import dev.maximus.glasswork.api.GlassworkAPI;
+import dev.maximus.glasswork.client.internal.jfr.CompileCaptureEvent;
+import dev.maximus.glasswork.client.internal.mesh.InjectedMeshBuilder;
+import dev.maximus.glasswork.client.internal.mesh.PackedQuads;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
 import dev.maximus.glasswork.client.internal.mesh.TranslucentMeshStore;
+import dev.maximus.glasswork.util.Log;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.SectionBufferBuilderPack;
 import net.minecraft.client.renderer.chunk.RenderChunkRegion;
 import net.minecraft.client.renderer.chunk.SectionCompiler;
 import net.minecraft.core.SectionPos;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.Map;
+
 @Mixin(SectionCompiler.class)
 public class SectionCompilerMixin {
 
+    @Shadow
+    private BufferBuilder getOrBeginLayer(Map<RenderType, BufferBuilder> map, SectionBufferBuilderPack pack, RenderType type) {
+        throw new AssertionError();
+    }
+
+    /**
+     * {@link GlassworkConfig.InjectionMode#COMPILE}: once vanilla has emitted every block, write the section's quads
+     * into its translucent layer so they are built, sorted and uploaded with vanilla's own mesh.
+     */
+    @Inject(method = "compile", at = @At(value = "INVOKE", target = "Ljava/util/Map;entrySet()Ljava/util/Set;"))
+    private void glasswork$emitInjected(SectionPos pos,
+                                        RenderChunkRegion region,
+                                        VertexSorting sort,
+                                        SectionBufferBuilderPack buffers,
+                                        CallbackInfoReturnable<SectionCompiler.Results> cir,
+                                        @Local Map<RenderType, BufferBuilder> layers) {
+        if (GlassworkConfig.injectionMode() != GlassworkConfig.InjectionMode.COMPILE) return;
+        final long key = pos.asLong();
+        if (!SectionContentIndex.mayContain(key)) return;
+        final PackedQuads quads = GlassworkAPI._getPacked(key);
+        if (quads.isEmpty()) return;
+
+        InjectedMeshBuilder.emit(getOrBeginLayer(layers, buffers, RenderType.translucent()), quads);
+        if (Log.isTraceEnabled()) Log.t("[mixin.compile] baked {} quad(s) @{}", quads.size(), pos);
+    }
+
     @Inject(method = "compile", at = @At("RETURN"))
     private void glasswork$onCompile(SectionPos pos,
                                      RenderChunkRegion region,
                                      VertexSorting sort,
                                      SectionBufferBuilderPack buffers,
                                      CallbackInfoReturnable<SectionCompiler.Results> cir) {
+        final long key = pos.asLong();
+        // Only sections with Glasswork content keep a copy of vanilla's translucent mesh to merge with; a section
+        // leaving the index has its copy dropped by SectionContentIndex, so other compiles touch nothing here
+        if (!SectionContentIndex.mayContain(key) || !SectionContentIndex.captures(key)) return;
+        // Baked in at compile time: nothing to capture or merge later
+        if (GlassworkConfig.injectionMode() == GlassworkConfig.InjectionMode.COMPILE) {
+            TranslucentMeshStore.clear(key);
+            SectionContentIndex.set(key, SectionContentIndex.CAPTURE_PENDING, false);
+            return;
+        }
+
         SectionCompiler.Results results = cir.getReturnValue();
         MeshData translucent = results.renderedLayers.get(RenderType.translucent());
 
-        TranslucentMeshStore.storeOrRemove(pos.origin(), translucent);
+        final CompileCaptureEvent event = new CompileCaptureEvent();
+        event.begin();
+        final long t0 = GlassworkProfiler.begin();
+        TranslucentMeshStore.storeOrRemove(key, translucent);
+        GlassworkProfiler.end(GlassworkProfiler.Phase.CAPTURE, t0);
+        if (event.shouldCommit()) {
+            final TranslucentMeshStore.TrackedMesh stored = TranslucentMeshStore.get(key);
+            event.section(key);
+            event.quads = (stored != null) ? stored.mesh().drawState().vertexCount() / 4 : 0;
+            event.bytes = (stored != null) ? stored.bytes() : 0;
+            event.commit();
+        }
+        // Left the index while we copied: its drop may have run before our store, so do not keep the copy
+        if (!SectionContentIndex.captures(key)) {
+            TranslucentMeshStore.clear(key);
+            return;
+        }
+        SectionContentIndex.set(key, SectionContentIndex.CAPTURE_PENDING, false);
 
-        GlassworkAPI._bumpGeneration(pos);
+        GlassworkAPI._bumpGeneration(key);
     }
-}
\ No newline at end of file
+}
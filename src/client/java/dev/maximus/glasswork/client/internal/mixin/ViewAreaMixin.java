@@ -1,6 +1,7 @@
 package dev.maximus.glasswork.client.internal.mixin;
 
 import dev.maximus.glasswork.api.GlassworkAPI;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
 import dev.maximus.glasswork.client.internal.mesh.TranslucentMeshStore;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.ViewArea;
@@ -30,14 +31,21 @@ public abstract class ViewAreaMixin {
     @Shadow
     protected abstract int getSectionIndex(int x, int y, int z);
 
+    /** Size the content index like this view area's section grid (also on render distance changes). */
+    @Inject(method = "createSections", at = @At("TAIL"))
+    private void glasswork$onCreateSections(SectionRenderDispatcher dispatcher, CallbackInfo ci) {
+        SectionContentIndex.configure(sectionGridSizeX, sectionGridSizeY, sectionGridSizeZ, level.getMinSection());
+    }
+
     @Inject(method = "setDirty", at = @At("HEAD"))
     private void glasswork$whenDirty(int x, int y, int z, boolean important, CallbackInfo ci) {
+        if (!SectionContentIndex.mayContain(x, y, z)) return; // nothing of ours to invalidate
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null) return;
 
-        SectionPos sec = SectionPos.of(x, y, z);
+        final long sec = SectionPos.asLong(x, y, z);
 
-        TranslucentMeshStore.markDirty(sec.origin());
+        TranslucentMeshStore.markDirty(sec);
 
         GlassworkAPI._bumpGeneration(sec);
         GlassworkAPI._clearSection(sec);
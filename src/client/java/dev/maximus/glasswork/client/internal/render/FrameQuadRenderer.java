@@ -0,0 +1,112 @@
+package dev.maximus.glasswork.client.internal.render;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import dev.maximus.glasswork.api.GlassworkAPI;
+import dev.maximus.glasswork.api.InjectedQuad;
+import dev.maximus.glasswork.api.QuadVertex;
+import dev.maximus.glasswork.client.internal.mesh.NativeMemory;
+import dev.maximus.glasswork.util.Log;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.ShaderInstance;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+
+/**
+ * Transient geometry pass for {@link GlassworkAPI#submitFrameQuad}: drains the frame queue once per frame right after
+ * the translucent section layer, encodes everything camera-relative into one reused native buffer, sorts once
+ * back-to-front and draws it through a reused dynamic {@link VertexBuffer}. Section VBOs are never touched.
+ * <p>Render thread only.</p>
+ */
+public final class FrameQuadRenderer {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private static final ArrayList<InjectedQuad> PENDING = new ArrayList<>();
+    private static @Nullable ByteBufferBuilder scratch;
+    private static @Nullable VertexBuffer vbo;
+
+    private FrameQuadRenderer() {}
+
+    /** Drain and draw this frame's quads. {@code camX/Y/Z} and matrices are those of the translucent layer. */
+    public static void render(double camX, double camY, double camZ, Matrix4f modelView, Matrix4f projection) {
+        PENDING.clear();
+        if (GlassworkAPI._drainFrameQuads(PENDING) == 0) return;
+
+        if (scratch == null) scratch = new ByteBufferBuilder(INITIAL_CAPACITY);
+        if (vbo == null) vbo = new VertexBuffer(VertexBuffer.Usage.DYNAMIC);
+
+        try {
+            final BufferBuilder builder = new BufferBuilder(scratch, VertexFormat.Mode.QUADS, DefaultVertexFormat.BLOCK);
+            for (int i = 0, n = PENDING.size(); i < n; i++) {
+                final InjectedQuad q = PENDING.get(i);
+                // A partial quad would shift every later one in the QUADS stream
+                if (q.v1() == null || q.v2() == null || q.v3() == null || q.v4() == null) continue;
+                addVertex(builder, q.v1(), camX, camY, camZ);
+                addVertex(builder, q.v2(), camX, camY, camZ);
+                addVertex(builder, q.v3(), camX, camY, camZ);
+                addVertex(builder, q.v4(), camX, camY, camZ);
+            }
+            final MeshData mesh = builder.build();
+            if (mesh == null) return;
+
+            // Camera-relative positions → sort by distance to the origin; indices share the same scratch buffer
+            mesh.sortQuads(scratch, VertexSorting.byDistance(0f, 0f, 0f));
+
+            final RenderType type = RenderType.translucent();
+            type.setupRenderState();
+            try {
+                vbo.bind();
+                vbo.upload(mesh);
+                final ShaderInstance shader = RenderSystem.getShader();
+                if (shader != null) {
+                    if (shader.CHUNK_OFFSET != null) shader.CHUNK_OFFSET.set(0f, 0f, 0f);
+                    vbo.drawWithShader(modelView, projection, shader);
+                }
+            } finally {
+                VertexBuffer.unbind();
+                type.clearRenderState();
+            }
+        } catch (Throwable t) {
+            Log.e(t, "[frame.render] failed to draw %d frame quad(s)", PENDING.size());
+            scratch.discard();
+        } finally {
+            PENDING.clear();
+        }
+    }
+
+    /** Native capacity of the reused scratch builder, 0 if none. */
+    public static long scratchBytes() {
+        return NativeMemory.capacity(scratch);
+    }
+
+    /** Free the reused GPU/native buffers (render thread). */
+    public static void close() {
+        PENDING.clear();
+        if (vbo != null) {
+            vbo.close();
+            vbo = null;
+        }
+        if (scratch != null) {
+            scratch.close();
+            scratch = null;
+        }
+        Log.d("[frame.close] released frame buffers");
+    }
+
+    private static void addVertex(BufferBuilder builder, QuadVertex v, double camX, double camY, double camZ) {
+        builder.addVertex((float) (v.x() - camX), (float) (v.y() - camY), (float) (v.z() - camZ))
+                .setColor(v.color())
+                .setUv(v.u(), v.v())
+                .setOverlay(v.overlay())
+                .setLight(v.light())
+                .setNormal(v.nx(), v.ny(), v.nz());
+    }
+}
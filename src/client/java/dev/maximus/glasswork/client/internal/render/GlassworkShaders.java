@@ -0,0 +1,31 @@
+package dev.maximus.glasswork.client.internal.render;
+
+import dev.maximus.glasswork.Constant;
+import dev.maximus.glasswork.util.Log;
+import net.fabricmc.fabric.api.client.rendering.v1.CoreShaderRegistrationCallback;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+/** Glasswork's core shaders, (re)loaded with vanilla's on every resource reload. */
+public final class GlassworkShaders {
+    /** Translucent section shader that wraps tile-space UVs inside per-vertex sprite bounds. */
+    public static final ResourceLocation TILED_TRANSLUCENT =
+            ResourceLocation.fromNamespaceAndPath(Constant.MOD_ID, "rendertype_tiled_translucent");
+
+    private static volatile @Nullable ShaderInstance tiledTranslucent;
+
+    private GlassworkShaders() {}
+
+    public static void register() {
+        CoreShaderRegistrationCallback.EVENT.register(context -> {
+            context.register(TILED_TRANSLUCENT, GlassworkVertexFormats.TILED_BLOCK, shader -> tiledTranslucent = shader);
+            Log.d("[shaders] registered {}", TILED_TRANSLUCENT);
+        });
+    }
+
+    /** The tiling shader, or null before the first successful resource load. */
+    public static @Nullable ShaderInstance tiledTranslucent() {
+        return tiledTranslucent;
+    }
+}
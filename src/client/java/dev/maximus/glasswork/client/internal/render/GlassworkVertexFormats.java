@@ -0,0 +1,32 @@
+package dev.maximus.glasswork.client.internal.render;
+
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormatElement;
+
+/** Vertex formats for Glasswork's own shaders. */
+public final class GlassworkVertexFormats {
+    /** Atlas bounds of the tiled sprite: {@code u0, v0, du, dv}. */
+    public static final VertexFormatElement SPRITE_BOUNDS = VertexFormatElement.register(
+            freeElementId(), 0, VertexFormatElement.Type.FLOAT, VertexFormatElement.Usage.GENERIC, 4);
+
+    /** {@code DefaultVertexFormat.BLOCK} plus {@link #SPRITE_BOUNDS}, for the tiling shader (48 bytes per vertex). */
+    public static final VertexFormat TILED_BLOCK = VertexFormat.builder()
+            .add("Position", VertexFormatElement.POSITION)
+            .add("Color", VertexFormatElement.COLOR)
+            .add("UV0", VertexFormatElement.UV0)
+            .add("UV2", VertexFormatElement.UV2)
+            .add("Normal", VertexFormatElement.NORMAL)
+            .padding(1)
+            .add("SpriteBounds", SPRITE_BOUNDS)
+            .build();
+
+    private GlassworkVertexFormats() {}
+
+    /** Element ids are a global 32-slot registry; take the highest free one to stay clear of vanilla's low ids. */
+    private static int freeElementId() {
+        for (int id = VertexFormatElement.MAX_COUNT - 1; id >= 0; id--) {
+            if (VertexFormatElement.byId(id) == null) return id;
+        }
+        throw new IllegalStateException("no free vertex format element id");
+    }
+}
@@ -0,0 +1,204 @@
+package dev.maximus.glasswork.client.internal.render;
+
+import dev.maximus.glasswork.Constant;
+import dev.maximus.glasswork.api.GlassworkAPI;
+import dev.maximus.glasswork.util.Log;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.ResourceReloadListenerKeys;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.BlockModelShaper;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolved block-atlas sprites by texture id, (block, face) and (fluid, animated), so API calls skip the model-shaper,
+ * {@code BakedModel.getQuads} and fluid-handler lookups after the first hit. Thread-safe.
+ * <p>Cleared after every resource reload, once the models (and with them the block atlas) are rebuilt; stored quads
+ * are then re-UV'd to the new atlas through {@link GlassworkAPI#_remapSprites}. Misses are not cached.</p>
+ */
+public final class SpriteCache {
+    private static final ResourceLocation RELOAD_ID = ResourceLocation.fromNamespaceAndPath(Constant.MOD_ID, "sprite_cache");
+
+    private record BlockFace(Block block, Direction face) {}
+    private record FluidSprite(Fluid fluid, boolean animated) {}
+
+    private static final ConcurrentHashMap<ResourceLocation, TextureAtlasSprite> BY_ID = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<BlockFace, TextureAtlasSprite> BY_FACE = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Block, TextureAtlasSprite> PARTICLE = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<FluidSprite, TextureAtlasSprite> BY_FLUID = new ConcurrentHashMap<>();
+    /** Bumped on every clear so a lookup racing a reload does not re-insert a sprite from the old atlas. */
+    private static volatile int epoch;
+
+    private SpriteCache() {}
+
+    public static void register() {
+        ResourceManagerHelper.get(PackType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public ResourceLocation getFabricId() {
+                return RELOAD_ID;
+            }
+
+            @Override
+            public Collection<ResourceLocation> getFabricDependencies() {
+                return List.of(ResourceReloadListenerKeys.TEXTURES, ResourceReloadListenerKeys.MODELS);
+            }
+
+            @Override
+            public void onResourceManagerReload(ResourceManager manager) {
+                onReload();
+            }
+        });
+        Log.d("[sprites] registered reload listener {}", RELOAD_ID);
+    }
+
+    /** Sprite by atlas id like {@code minecraft:block/stone} (the missing sprite if the atlas has no such id). */
+    public static @Nullable TextureAtlasSprite byId(ResourceLocation id) {
+        return cached(BY_ID, id, SpriteCache::resolveSprite);
+    }
+
+    /** A block's sprite for {@code face} from its default-state model, or its particle sprite if the face is empty. */
+    public static @Nullable TextureAtlasSprite blockFace(Block block, Direction face) {
+        return cached(BY_FACE, new BlockFace(block, face), k -> resolveBlockFaceSprite(k.block(), k.face()));
+    }
+
+    public static @Nullable TextureAtlasSprite particle(Block block) {
+        return cached(PARTICLE, block, SpriteCache::resolveParticleSprite);
+    }
+
+    /** A fluid's still ({@code animated=false}) or flowing sprite. */
+    public static @Nullable TextureAtlasSprite fluid(Fluid fluid, boolean animated) {
+        return cached(BY_FLUID, new FluidSprite(fluid, animated), k -> resolveFluidSprite(k.fluid(), k.animated()));
+    }
+
+    public static int size() {
+        return BY_ID.size() + BY_FACE.size() + PARTICLE.size() + BY_FLUID.size();
+    }
+
+    public static void clear() {
+        epoch++;
+        BY_ID.clear();
+        BY_FACE.clear();
+        PARTICLE.clear();
+        BY_FLUID.clear();
+    }
+
+    private static void onReload() {
+        final int cached = size();
+        clear();
+        final Minecraft mc = Minecraft.getInstance();
+        if (mc == null) return;
+        final int remapped = GlassworkAPI._remapSprites(mc.getTextureAtlas(TextureAtlas.LOCATION_BLOCKS));
+        Log.d("[sprites.reload] dropped {} cached sprite(s), re-UV'd {} section(s)", cached, remapped);
+    }
+
+    private static <K> @Nullable TextureAtlasSprite cached(ConcurrentHashMap<K, TextureAtlasSprite> map, K key,
+                                                         Function<K, TextureAtlasSprite> resolver) {
+        final TextureAtlasSprite hit = map.get(key);
+        if (hit != null) return hit;
+        final int before = epoch;
+        final TextureAtlasSprite sprite = resolver.apply(key);
+        if (sprite != null && epoch == before) map.putIfAbsent(key, sprite);
+        return sprite;
+    }
+
+    /* ---------- resolution ---------- */
+
+    private static TextureAtlasSprite resolveSprite(ResourceLocation id) {
+        var mc = Minecraft.getInstance();
+        if (mc == null) return null;
+        Function<ResourceLocation, TextureAtlasSprite> atlas = mc.getTextureAtlas(TextureAtlas.LOCATION_BLOCKS);
+        return atlas.apply(id);
+    }
+
+    private static TextureAtlasSprite resolveParticleSprite(Block block) {
+        var mc = Minecraft.getInstance();
+        if (mc == null) return null;
+        BlockModelShaper shaper = mc.getBlockRenderer().getBlockModelShaper();
+        BakedModel model = shaper.getBlockModel(block.defaultBlockState());
+        return model.getParticleIcon();
+    }
+
+    private static TextureAtlasSprite resolveBlockFaceSprite(Block block, Direction face) {
+        try {
+            var mc = Minecraft.getInstance();
+            if (mc == null) return null;
+            BlockModelShaper shaper = mc.getBlockRenderer().getBlockModelShaper();
+            BakedModel model = shaper.getBlockModel(block.defaultBlockState());
+            // getQuads(state, face, rand) – try face-specific first
+            List<BakedQuad> quads = model.getQuads(block.defaultBlockState(), face, RandomSource.create());
+            if (!quads.isEmpty()) return quads.getFirst().getSprite();
+            // fall back to particle
+            return model.getParticleIcon();
+        } catch (Throwable t) {
+            Log.d("[sprites.resolveBlockFaceSprite] failed: {}", t.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Try Fabric's FluidRenderHandlerRegistry for modded fluids; otherwise fall back to vanilla ids.
+     * animated=true chooses the "flowing" sprite when available; false chooses "still".
+     */
+    private static TextureAtlasSprite resolveFluidSprite(Fluid fluid, boolean animated) {
+        var mc = Minecraft.getInstance();
+        if (mc == null) return null;
+
+        // Try Fabric registry if present
+        try {
+            if (FabricLoader.getInstance().isModLoaded("fabric-rendering-fluids-v1")) {
+                // Use reflection to avoid a hard compile dep in this file
+                Class<?> regClass = Class.forName("net.fabricmc.fabric.api.client.render.fluid.v1.FluidRenderHandlerRegistry");
+                Object registry = regClass.getField("INSTANCE").get(null);
+                var get = regClass.getMethod("get", Fluid.class).invoke(registry, fluid);
+                if (get != null) {
+                    // getFluidSprites(Level, BlockPos, FluidState)
+                    var method = get.getClass().getMethod("getFluidSprites",
+                            net.minecraft.world.level.BlockAndTintGetter.class,
+                            BlockPos.class,
+                            net.minecraft.world.level.material.FluidState.class);
+                    var level = mc.level;
+                    var pos = BlockPos.ZERO;
+                    var state = fluid.defaultFluidState();
+                    TextureAtlasSprite[] sprites = (TextureAtlasSprite[]) method.invoke(get, level, pos, state);
+                    if (sprites != null && sprites.length > 0) {
+                        // Vanilla ordering: [still, flowing]
+                        int idx = animated && sprites.length > 1 ? 1 : 0;
+                        return sprites[Math.min(idx, sprites.length - 1)];
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            // ignore and fall through to vanilla fallback
+            Log.t("[sprites.resolveFluidSprite] Fabric handler not available: {}", t.getMessage());
+        }
+
+        // Vanilla fallback for common fluids
+        ResourceLocation id;
+        String ns = "minecraft";
+        if (fluid.toString().contains("lava")) {
+            id = ResourceLocation.fromNamespaceAndPath(ns, animated ? "block/lava_flow" : "block/lava_still");
+        } else {
+            // default to water
+            id = ResourceLocation.fromNamespaceAndPath(ns, animated ? "block/water_flow" : "block/water_still");
+        }
+        return resolveSprite(id);
+    }
+}
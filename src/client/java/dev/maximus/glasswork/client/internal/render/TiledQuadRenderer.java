@@ -0,0 +1,241 @@
+package dev.maximus.glasswork.client.internal.render;
+
+import com.mojang.blaze3d.shaders.Uniform;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import dev.maximus.glasswork.GlassworkMetrics;
+import dev.maximus.glasswork.api.GlassworkAPI;
+import dev.maximus.glasswork.client.internal.mesh.NativeBufferPool;
+import dev.maximus.glasswork.client.internal.mesh.NativeMemory;
+import dev.maximus.glasswork.client.internal.mesh.SectionContentIndex;
+import dev.maximus.glasswork.client.internal.mesh.SectionMeshCache;
+import dev.maximus.glasswork.client.internal.mesh.TiledQuads;
+import dev.maximus.glasswork.util.Log;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Section pass for {@link GlassworkAPI.UVMode#TILE_SHADER} quads: one VBO per section in
+ * {@link GlassworkVertexFormats#TILED_BLOCK}, drawn with {@link GlassworkShaders#TILED_TRANSLUCENT} right after the
+ * translucent section layer, far to near like vanilla.
+ * <p>A VBO is re-uploaded only when the section's {@link TiledQuads} snapshot changes (a bulk copy, sorted once) and
+ * re-sorted with the same camera thresholds as merged sections. The quads are sorted per section among themselves,
+ * not interleaved with vanilla's translucent geometry. VBOs of sections that were not visible for a while are freed.</p>
+ * <p>Render thread only.</p>
+ */
+public final class TiledQuadRenderer {
+    private static final int SWEEP_INTERVAL_FRAMES = 120;
+    private static final int INITIAL_SCRATCH = 16 * 1024;
+
+    private static final Long2ObjectOpenHashMap<Entry> ENTRIES = new Long2ObjectOpenHashMap<>();
+    private static final ArrayList<Entry> DRAW = new ArrayList<>();
+    private static @Nullable ByteBufferBuilder scratch;
+    private static int frame;
+    private static boolean warnedNoShader;
+
+    private TiledQuadRenderer() {}
+
+    /** Draw the tiled quads of every visible section. {@code camX/Y/Z} and matrices are those of the translucent layer. */
+    public static void render(List<SectionRenderDispatcher.RenderSection> visible,
+                              double camX, double camY, double camZ, Matrix4f modelView, Matrix4f projection) {
+        if (++frame % SWEEP_INTERVAL_FRAMES == 0) sweep();
+        if (SectionContentIndex.size() == 0) {
+            if (!ENTRIES.isEmpty()) close();
+            return;
+        }
+
+        DRAW.clear();
+        for (int i = visible.size() - 1; i >= 0; i--) {
+            final BlockPos origin = visible.get(i).getOrigin();
+            if (!SectionContentIndex.mayContain(origin)) continue;
+            final long sec = SectionPos.asLong(origin);
+            final TiledQuads tiled = GlassworkAPI._getTiled(sec);
+            if (tiled.isEmpty()) {
+                drop(sec);
+                continue;
+            }
+            final @Nullable Entry e = prepare(sec, tiled, camX, camY, camZ);
+            if (e != null) DRAW.add(e);
+        }
+        if (DRAW.isEmpty()) return;
+
+        final @Nullable ShaderInstance shader = GlassworkShaders.tiledTranslucent();
+        if (shader == null) {
+            if (!warnedNoShader) {
+                warnedNoShader = true;
+                Log.w("[tiled.render] shader {} not loaded -> tiled quads are not drawn", GlassworkShaders.TILED_TRANSLUCENT);
+            }
+            return;
+        }
+
+        final RenderType type = RenderType.translucent();
+        type.setupRenderState();
+        try {
+            shader.setDefaultUniforms(VertexFormat.Mode.QUADS, modelView, projection, Minecraft.getInstance().getWindow());
+            shader.apply();
+            final @Nullable Uniform offset = shader.CHUNK_OFFSET;
+            for (int i = 0, n = DRAW.size(); i < n; i++) {
+                final Entry e = DRAW.get(i);
+                if (offset != null) {
+                    offset.set((float) (e.originX - camX), (float) (e.originY - camY), (float) (e.originZ - camZ));
+                    offset.upload();
+                }
+                e.vbo.bind();
+                e.vbo.draw();
+            }
+            if (offset != null) offset.set(0f, 0f, 0f);
+            shader.clear();
+        } finally {
+            VertexBuffer.unbind();
+            type.clearRenderState();
+            DRAW.clear();
+        }
+    }
+
+    /** Free every VBO (render thread). */
+    public static void close() {
+        for (Entry e : ENTRIES.values()) e.close();
+        ENTRIES.clear();
+        DRAW.clear();
+        if (scratch != null) {
+            scratch.close();
+            scratch = null;
+        }
+        Log.d("[tiled.close] released tiled section buffers");
+    }
+
+    public static int size() {
+        return ENTRIES.size();
+    }
+
+    private static @Nullable Entry prepare(long sec, TiledQuads tiled, double camX, double camY, double camZ) {
+        Entry e = ENTRIES.get(sec);
+        if (e == null) {
+            e = new Entry(sec);
+            ENTRIES.put(sec, e);
+        }
+        e.lastSeen = frame;
+        try {
+            if (e.source != tiled) {
+                e.upload(tiled, camX, camY, camZ);
+            } else if (e.sortState != null
+                    && SectionMeshCache.needsResort(e.sortX, e.sortY, e.sortZ, camX, camY, camZ, sec)) {
+                e.resort(camX, camY, camZ);
+            }
+            return e;
+        } catch (Throwable t) {
+            Log.e(t, "[tiled.prepare] upload failed @%s", SectionPos.of(sec));
+            drop(sec);
+            return null;
+        }
+    }
+
+    private static void drop(long sec) {
+        final @Nullable Entry e = ENTRIES.remove(sec);
+        if (e != null) e.close();
+    }
+
+    private static void sweep() {
+        final int before = frame - SWEEP_INTERVAL_FRAMES;
+        int dropped = 0;
+        for (var it = ENTRIES.long2ObjectEntrySet().fastIterator(); it.hasNext(); ) {
+            final Long2ObjectMap.Entry<Entry> e = it.next();
+            if (e.getValue().lastSeen >= before) continue;
+            e.getValue().close();
+            it.remove();
+            dropped++;
+        }
+        if (dropped > 0) Log.d("[tiled.sweep] freed {} idle section buffer(s), {} left", dropped, ENTRIES.size());
+    }
+
+    /** Native capacity of the reused scratch builder, 0 if none. */
+    public static long scratchBytes() {
+        return NativeMemory.capacity(scratch);
+    }
+
+    private static ByteBufferBuilder scratch() {
+        if (scratch == null) scratch = new ByteBufferBuilder(INITIAL_SCRATCH);
+        return scratch;
+    }
+
+    private static final class Entry {
+        final int originX, originY, originZ;
+        final VertexBuffer vbo = new VertexBuffer(VertexBuffer.Usage.STATIC);
+        @Nullable TiledQuads source;
+        @Nullable MeshData.SortState sortState;
+        double sortX, sortY, sortZ;
+        int lastSeen;
+
+        Entry(long sec) {
+            this.originX = SectionPos.sectionToBlockCoord(SectionPos.x(sec));
+            this.originY = SectionPos.sectionToBlockCoord(SectionPos.y(sec));
+            this.originZ = SectionPos.sectionToBlockCoord(SectionPos.z(sec));
+        }
+
+        /** Bulk-copy {@code tiled} into a pooled buffer, sort it for the camera and upload. */
+        void upload(TiledQuads tiled, double camX, double camY, double camZ) {
+            final int bytes = tiled.byteSize();
+            final int sizeClass = NativeBufferPool.sizeClass(bytes);
+            final ByteBufferBuilder backing = NativeBufferPool.acquire(bytes, sizeClass);
+            try {
+                tiled.copyTo(backing.reserve(bytes));
+                final ByteBufferBuilder.Result vertices = backing.build();
+                if (vertices == null) throw new IllegalStateException("empty vertex buffer");
+                final int count = tiled.vertexCount();
+                try (MeshData mesh = new MeshData(vertices, new MeshData.DrawState(GlassworkVertexFormats.TILED_BLOCK,
+                        count, VertexFormat.Mode.QUADS.indexCount(count), VertexFormat.Mode.QUADS,
+                        VertexFormat.IndexType.least(count)))) {
+                    sortState = mesh.sortQuads(scratch(), sorting(camX, camY, camZ));
+                    vbo.bind();
+                    vbo.upload(mesh);
+                }
+                source = tiled;
+                sortX = camX;
+                sortY = camY;
+                sortZ = camZ;
+            } finally {
+                VertexBuffer.unbind();
+                NativeBufferPool.release(backing, sizeClass);
+            }
+        }
+
+        /** Rebuild only the index buffer for the new camera position. */
+        void resort(double camX, double camY, double camZ) {
+            final @Nullable ByteBufferBuilder.Result indices =
+                    sortState.buildSortedIndexBuffer(scratch(), sorting(camX, camY, camZ));
+            sortX = camX;
+            sortY = camY;
+            sortZ = camZ;
+            if (indices == null) return;
+            try {
+                vbo.bind();
+                vbo.uploadIndexBuffer(indices);
+            } finally {
+                VertexBuffer.unbind();
+            }
+            GlassworkMetrics.recordClientResort();
+        }
+
+        VertexSorting sorting(double camX, double camY, double camZ) {
+            return VertexSorting.byDistance((float) (camX - originX), (float) (camY - originY), (float) (camZ - originZ));
+        }
+
+        void close() {
+            vbo.close();
+        }
+    }
+}
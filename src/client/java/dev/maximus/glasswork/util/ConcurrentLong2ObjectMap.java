@@ -0,0 +1,167 @@
+package dev.maximus.glasswork.util;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Thread-safe {@code long → V} map without key boxing: a fixed set of lock-striped fastutil open hash maps.
+ * <p>Meant for {@link net.minecraft.core.SectionPos#asLong} keyed stores read on the render thread and written from
+ * worker/API threads. Every operation holds one stripe's monitor for a single hash lookup; callbacks passed to
+ * {@link #computeIfAbsent} run under that monitor and must be short. Iteration works on snapshots.</p>
+ */
+public final class ConcurrentLong2ObjectMap<V> {
+    private static final int STRIPES = 16; // power of two
+    private static final int SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPES);
+
+    /** Receives one key/value pair of a snapshot. */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private final Long2ObjectOpenHashMap<V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLong2ObjectMap() {
+        stripes = new Long2ObjectOpenHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Long2ObjectOpenHashMap<>();
+    }
+
+    private Long2ObjectOpenHashMap<V> stripe(long key) {
+        return stripes[(int) (HashCommon.mix(key) >>> SHIFT)];
+    }
+
+    public V get(long key) {
+        final Long2ObjectOpenHashMap<V> m = stripe(key);
+        synchronized (m) {
+            return m.get(key);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        final Long2ObjectOpenHashMap<V> m = stripe(key);
+        synchronized (m) {
+            return m.containsKey(key);
+        }
+    }
+
+    /** Put and return the previous value (or null). */
+    public V put(long key, V value) {
+        final Long2ObjectOpenHashMap<V> m = stripe(key);
+        synchronized (m) {
+            return m.put(key, value);
+        }
+    }
+
+    /** Remove and return the value (or null). */
+    public V remove(long key) {
+        final Long2ObjectOpenHashMap<V> m = stripe(key);
+        synchronized (m) {
+            return m.remove(key);
+        }
+    }
+
+    /** Remove only if currently mapped to {@code expected} (identity). */
+    public boolean remove(long key, V expected) {
+        final Long2ObjectOpenHashMap<V> m = stripe(key);
+        synchronized (m) {
+            if (m.get(key) != expected) return false;
+            m.remove(key);
+            return true;
+        }
+    }
+
+    /** Get, or create with {@code factory} (runs under the stripe lock). */
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        final Long2ObjectOpenHashMap<V> m = stripe(key);
+        synchronized (m) {
+            V v = m.get(key);
+            if (v == null) {
+                v = factory.apply(key);
+                if (v != null) m.put(key, v);
+            }
+            return v;
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (Long2ObjectOpenHashMap<V> m : stripes) {
+            synchronized (m) {
+                n += m.size();
+            }
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Snapshot of the keys. */
+    public long[] keys() {
+        final LongArrayList out = new LongArrayList();
+        for (Long2ObjectOpenHashMap<V> m : stripes) {
+            synchronized (m) {
+                out.addAll(m.keySet());
+            }
+        }
+        return out.toLongArray();
+    }
+
+    /** Snapshot of the values. */
+    public List<V> values() {
+        final ArrayList<V> out = new ArrayList<>();
+        for (Long2ObjectOpenHashMap<V> m : stripes) {
+            synchronized (m) {
+                out.addAll(m.values());
+            }
+        }
+        return out;
+    }
+
+    /** Visit a snapshot of all entries; {@code action} runs without any lock held. */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (Long2ObjectOpenHashMap<V> m : stripes) {
+            final long[] keys;
+            final Object[] values;
+            synchronized (m) {
+                keys = new long[m.size()];
+                values = new Object[m.size()];
+                int i = 0;
+                for (Long2ObjectMap.Entry<V> e : m.long2ObjectEntrySet()) {
+                    keys[i] = e.getLongKey();
+                    values[i++] = e.getValue();
+                }
+            }
+            for (int i = 0; i < keys.length; i++) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /** Remove everything and return the removed values. */
+    public List<V> drain() {
+        final ArrayList<V> out = new ArrayList<>();
+        for (Long2ObjectOpenHashMap<V> m : stripes) {
+            synchronized (m) {
+                out.addAll(m.values());
+                m.clear();
+            }
+        }
+        return out;
+    }
+
+    public void clear() {
+        for (Long2ObjectOpenHashMap<V> m : stripes) {
+            synchronized (m) {
+                m.clear();
+            }
+        }
+    }
+}